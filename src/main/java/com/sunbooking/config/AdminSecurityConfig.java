@@ -1,17 +1,20 @@
 package com.sunbooking.config;
 
-import javax.sql.DataSource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
-import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenBasedRememberMeServices;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import com.sunbooking.security.CachingPersistentTokenRepository;
 import com.sunbooking.security.CustomAuthenticationFailureHandler;
 import com.sunbooking.security.CustomAuthenticationSuccessHandler;
 import com.sunbooking.security.CustomUserDetailsService;
@@ -28,7 +31,7 @@ import lombok.extern.slf4j.Slf4j;
  * - CSRF protection enabled
  * - Remember-me functionality with persistent token store
  * - Rate limiting to prevent brute force attacks
- * - Session management (timeout, concurrent sessions)
+ * - Session management (timeout, concurrent sessions across nodes)
  * - Role-based access control (ADMIN role required)
  * 
  * This configuration has @Order(1) to be processed before API security config
@@ -44,19 +47,24 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AdminSecurityConfig {
 
+    private static final String REMEMBER_ME_KEY = "sunbooking-remember-me-key";
+
     private final CustomUserDetailsService userDetailsService;
     private final CustomAuthenticationSuccessHandler authenticationSuccessHandler;
     private final CustomAuthenticationFailureHandler authenticationFailureHandler;
-    private final DataSource dataSource;
+    private final CachingPersistentTokenRepository persistentTokenRepository;
+    private final SessionRegistry sessionRegistry;
 
     public AdminSecurityConfig(CustomUserDetailsService userDetailsService,
             CustomAuthenticationSuccessHandler authenticationSuccessHandler,
             CustomAuthenticationFailureHandler authenticationFailureHandler,
-            DataSource dataSource) {
+            CachingPersistentTokenRepository persistentTokenRepository,
+            SessionRegistry sessionRegistry) {
         this.userDetailsService = userDetailsService;
         this.authenticationSuccessHandler = authenticationSuccessHandler;
         this.authenticationFailureHandler = authenticationFailureHandler;
-        this.dataSource = dataSource;
+        this.persistentTokenRepository = persistentTokenRepository;
+        this.sessionRegistry = sessionRegistry;
     }
 
     /**
@@ -108,18 +116,15 @@ public class AdminSecurityConfig {
 
                 // Remember-me configuration
                 .rememberMe()
-                .key("sunbooking-remember-me-key") // Secret key for token generation
-                .tokenRepository(persistentTokenRepository()) // Persistent token store
-                .userDetailsService(userDetailsService) // User details service
-                .tokenValiditySeconds(14 * 24 * 60 * 60) // 14 days
-                .rememberMeParameter("remember-me") // Form parameter name
-                .rememberMeCookieName("remember-me")
+                .key(REMEMBER_ME_KEY) // Secret key for token generation
+                .rememberMeServices(rememberMeServices()) // Persistent token store with read cache
                 .and()
 
                 // Session management
                 .sessionManagement()
                 .maximumSessions(1) // Only one session per user
                 .maxSessionsPreventsLogin(false) // New login invalidates old session
+                .sessionRegistry(sessionRegistry) // Registry over the database sessions, shared by all nodes
                 .expiredUrl("/admin/login?expired")
                 .and()
                 .and()
@@ -134,19 +139,32 @@ public class AdminSecurityConfig {
     }
 
     /**
-     * Configure persistent token repository for remember-me functionality.
+     * Configure remember-me services over the persistent token store.
      * 
-     * This stores remember-me tokens in the database for security and
-     * persistence across server restarts.
+     * Tokens are stored in the database for security and persistence across
+     * server restarts, behind a per-node read cache. A presented token that
+     * differs from the cached one is re-read from the database before it is
+     * compared, so a rotation made by another node is not mistaken for cookie
+     * theft.
      * 
-     * @return PersistentTokenRepository backed by database
+     * @return PersistentTokenBasedRememberMeServices backed by database
      */
     @Bean
-    public PersistentTokenRepository persistentTokenRepository() {
-        JdbcTokenRepositoryImpl tokenRepository = new JdbcTokenRepositoryImpl();
-        tokenRepository.setDataSource(dataSource);
-        // Set create table on startup to false since Flyway handles schema
-        tokenRepository.setCreateTableOnStartup(false);
-        return tokenRepository;
+    public PersistentTokenBasedRememberMeServices rememberMeServices() {
+        PersistentTokenBasedRememberMeServices services = new PersistentTokenBasedRememberMeServices(
+                REMEMBER_ME_KEY, userDetailsService, persistentTokenRepository) {
+            @Override
+            protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request,
+                    HttpServletResponse response) {
+                if (cookieTokens.length == 2) {
+                    persistentTokenRepository.evictIfDifferent(cookieTokens[0], cookieTokens[1]);
+                }
+                return super.processAutoLoginCookie(cookieTokens, request, response);
+            }
+        };
+        services.setTokenValiditySeconds((int) persistentTokenRepository.getTokenValidity().getSeconds());
+        services.setParameter("remember-me"); // Form parameter name
+        services.setCookieName("remember-me");
+        return services;
     }
 }
@@ -3,14 +3,21 @@ package com.sunbooking.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -19,8 +26,10 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.sunbooking.exception.ServiceUnavailableException;
 import com.sunbooking.security.jwt.JwtAuthenticationEntryPoint;
 import com.sunbooking.security.jwt.JwtAuthenticationFilter;
+import com.sunbooking.security.ratelimit.RateLimitFilter;
 
 /**
  * Security configuration for API endpoints (/api/**).
@@ -36,6 +45,9 @@ public class ApiSecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -45,6 +57,9 @@ public class ApiSecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private CorsConfigurationProperties corsConfigurationProperties;
 
@@ -101,6 +116,9 @@ public class ApiSecurityConfig {
         // Add JWT filter before UsernamePasswordAuthenticationFilter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Rate limit after JWT authentication, so authenticated clients are limited per user
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+
         logger.info("API security filter chain configured successfully");
         logger.debug("Public endpoints: {}", apiSecurityProperties.getPublicEndpoints());
         logger.debug("Protected endpoints: {}", apiSecurityProperties.getProtectedEndpoints());
@@ -108,17 +126,60 @@ public class ApiSecurityConfig {
         return http.build();
     }
 
+    /**
+     * Keep the rate limit filter out of the servlet filter chain; it only runs
+     * in the API security chain, where the authenticated user is known.
+     *
+     * @return disabled registration of the rate limit filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Authentication provider for API endpoints.
+     * A password check shed by the hashing pool is reported as an
+     * InternalAuthenticationServiceException caused by the
+     * ServiceUnavailableException, like a failure to load the user, instead of
+     * escaping the authentication filters. A shed hash upgrade does not fail
+     * the login.
      *
-     * @return DaoAuthenticationProvider configured with UserDetailsService and
-     *         PasswordEncoder
+     * @return DaoAuthenticationProvider configured with UserDetailsService,
+     *         PasswordEncoder and rehash-on-login
      */
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider() {
+            @Override
+            protected void additionalAuthenticationChecks(UserDetails userDetails,
+                    UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
+                try {
+                    super.additionalAuthenticationChecks(userDetails, authentication);
+                } catch (ServiceUnavailableException e) {
+                    throw new InternalAuthenticationServiceException(e.getMessage(), e);
+                }
+            }
+
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal,
+                    Authentication authentication, UserDetails user) {
+                try {
+                    return super.createSuccessAuthentication(principal, authentication, user);
+                } catch (ServiceUnavailableException e) {
+                    // The hash upgrade was shed; the login stands and the upgrade waits for the next one
+                    UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+                            .authenticated(principal, authentication.getCredentials(), user.getAuthorities());
+                    result.setDetails(authentication.getDetails());
+                    return result;
+                }
+            }
+        };
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -19,6 +19,7 @@ public class ApiSecurityProperties {
     private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
             "/api/auth/register",
             "/api/auth/login",
+            "/api/auth/refresh",
             "/api/tours/**",
             "/api/reviews/**",
             "/api/categories/**");
@@ -0,0 +1,62 @@
+package com.sunbooking.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that must not run on request threads.
+ * Each kind of background work gets its own bounded pool so that a burst of one
+ * kind cannot starve the others.
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String MEDIA_EXECUTOR = "mediaTaskExecutor";
+
+    public static final String JOB_EXECUTOR = "jobTaskExecutor";
+
+    /**
+     * Executor used for image decoding and thumbnail generation.
+     * When the queue is full the submitting thread runs the task itself, which
+     * slows uploads down instead of dropping thumbnails.
+     *
+     * @return the media task executor
+     */
+    @Bean(name = MEDIA_EXECUTOR)
+    public ThreadPoolTaskExecutor mediaTaskExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("media-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Executor used for long-running admin jobs (bulk moderation and the like).
+     * Jobs run one or two at a time so they never compete with requests for
+     * more than a couple of database connections; when the queue is full new
+     * jobs are rejected rather than run on the request thread.
+     *
+     * @return the job task executor
+     */
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor jobTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("job-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
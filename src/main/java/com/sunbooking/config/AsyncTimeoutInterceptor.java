@@ -0,0 +1,42 @@
+package com.sunbooking.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * Interceptor giving the async processing of one request a timeout other than
+ * spring.mvc.async.request-timeout.
+ * Handlers that stream long responses (e.g. StreamingResponseBody exports)
+ * call {@link #setTimeout} before returning; all other async requests keep the
+ * default timeout.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".TIMEOUT";
+
+    /**
+     * Set the async timeout of the current request.
+     *
+     * @param request the request being handled
+     * @param timeout the timeout of its async processing
+     */
+    public static void setTimeout(HttpServletRequest request, Duration timeout) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeout);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        // Runs before the async context is started, which applies the timeout
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Duration && request instanceof AsyncWebRequest) {
+            ((AsyncWebRequest) request).setTimeout(((Duration) timeout).toMillis());
+        }
+    }
+}
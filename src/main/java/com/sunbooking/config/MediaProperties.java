@@ -0,0 +1,52 @@
+package com.sunbooking.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for uploaded media (tour photos).
+ * Binds properties from application.properties with prefix "media".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "media")
+@Data
+public class MediaProperties {
+
+    /**
+     * Root directory where originals and thumbnails are stored.
+     * Default: uploads (relative to the working directory)
+     */
+    private String storageDir = "uploads";
+
+    /**
+     * Edge length in pixels of the square thumbnails shown on list pages.
+     * Default: 320
+     */
+    private int thumbnailSize = 320;
+
+    /**
+     * Images with more pixels than this are rejected before decoding to
+     * protect the heap from decompression bombs.
+     * Default: 40,000,000 (e.g. 8000 x 5000)
+     */
+    private long maxPixels = 40_000_000L;
+
+    /**
+     * How long browsers and proxies may cache served media. Files never change
+     * once written, so this can be long.
+     * Default: 365 days
+     */
+    private Duration cacheMaxAge = Duration.ofDays(365);
+
+    /**
+     * Image formats accepted on upload, as reported by the image decoder.
+     * Default: jpeg, png, gif
+     */
+    private List<String> allowedFormats = Arrays.asList("jpeg", "png", "gif");
+}
@@ -0,0 +1,68 @@
+package com.sunbooking.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for API rate limiting.
+ * Binds properties from application.properties with prefix "api.rate-limit".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "api.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Whether API requests are rate limited.
+     * Default: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of client buckets kept in memory.
+     * Default: 100000
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * Buckets unused for this long are dropped; it should be at least the
+     * longest refill period, so a dropped bucket would have been full anyway.
+     * Default: 10 minutes
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Limits by Ant-style path pattern; the first matching pattern applies.
+     * Requests matching no pattern are not limited.
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * Token bucket of one endpoint pattern, per client.
+     */
+    @Data
+    public static class Policy {
+
+        /**
+         * Ant-style path pattern, e.g. /api/auth/**.
+         */
+        private String pattern;
+
+        /**
+         * Maximum burst of requests.
+         */
+        private long capacity;
+
+        /**
+         * Time to refill the bucket from empty to full.
+         * Default: 1 minute
+         */
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.sunbooking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (counter reconciliation, cleanups).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
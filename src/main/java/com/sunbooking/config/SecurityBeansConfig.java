@@ -1,5 +1,8 @@
 package com.sunbooking.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,11 +11,15 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.sunbooking.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Base Security Configuration for Sun Booking Tour Application.
  * 
  * This configuration provides:
- * - Password encoding with BCrypt (strength 12)
+ * - Password encoding with BCrypt (strength 12) on a bounded hashing pool
  * - Authentication manager bean
  * - Global method security annotations
  * 
@@ -27,6 +34,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @EnableGlobalMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
 public class SecurityBeansConfig {
 
+    @Value("${security.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.password.hashing.timeout:10s}")
+    private Duration hashingTimeout;
+
     /**
      * Password encoder bean using BCrypt hashing algorithm.
      * 
@@ -39,13 +58,20 @@ public class SecurityBeansConfig {
      * - 13-15: High security (recommended for sensitive data)
      * - 16+: Very high security (may impact performance)
      * 
-     * @return BCryptPasswordEncoder with strength 12
+     * Hashing runs on a pool with one thread per core (unless configured)
+     * instead of the request threads; calls beyond its queue fail with 503.
+     * Hashes of a lower strength are upgraded when their user logs in.
+     * 
+     * @param meterRegistry the registry the pool metrics are published to
+     * @return BCryptPasswordEncoder with the configured strength (default 12)
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
         // Strength 12 provides good balance between security and performance
         // Each increment doubles the time required to hash a password
-        return new BCryptPasswordEncoder(12);
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads,
+                hashingQueueCapacity, hashingTimeout, meterRegistry);
     }
 
     /**
@@ -0,0 +1,146 @@
+package com.sunbooking.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.session.JdbcSessionDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.SingleIndexResolver;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import com.sunbooking.security.CustomUserDetails;
+import com.sunbooking.security.session.WriteBehindSessionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * HTTP sessions stored in the database instead of the servlet container.
+ *
+ * Any node can serve any admin request and sessions survive restarts. The
+ * JDBC repository is wrapped in a WriteBehindSessionRepository, so requests
+ * that only touch a session do not each write it. Sessions are indexed by the
+ * email of the signed-in user, which the session registry uses to enforce
+ * the concurrent-session limit across nodes. The tables are created by
+ * Flyway, or by Spring Session's script on embedded databases.
+ */
+@Configuration
+@EnableJdbcHttpSession
+@EnableConfigurationProperties(JdbcSessionProperties.class)
+public class SessionConfig {
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Value("${session.touch.batch-size:500}")
+    private int touchBatchSize;
+
+    /**
+     * Apply the session timeout and table settings to the JDBC repository.
+     *
+     * @param properties the spring.session.jdbc properties
+     * @return the repository customizer
+     */
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> jdbcSessionRepositoryCustomizer(
+            JdbcSessionProperties properties) {
+        return repository -> {
+            repository.setDefaultMaxInactiveInterval((int) sessionTimeout.getSeconds());
+            repository.setTableName(properties.getTableName());
+            repository.setFlushMode(properties.getFlushMode());
+            repository.setSaveMode(properties.getSaveMode());
+        };
+    }
+
+    /**
+     * Index sessions by the email of their user; display names are not unique.
+     *
+     * @return the principal name index resolver
+     */
+    @Bean
+    public IndexResolver<Session> principalNameIndexResolver() {
+        return new SingleIndexResolver<Session>(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME) {
+            @Override
+            public String resolveIndexValueFor(Session session) {
+                SecurityContext context = session
+                        .getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+                Authentication authentication = context != null ? context.getAuthentication() : null;
+                if (authentication == null) {
+                    return null;
+                }
+                if (authentication.getPrincipal() instanceof CustomUserDetails) {
+                    return ((CustomUserDetails) authentication.getPrincipal()).getUser().getEmail();
+                }
+                return authentication.getName();
+            }
+        };
+    }
+
+    /**
+     * Session repository used by the session filter and the registry.
+     *
+     * @param sessionRepository the JDBC session repository
+     * @param jdbcTemplate      the JDBC access for batched touches
+     * @param properties        the spring.session.jdbc properties
+     * @param meterRegistry     the registry for the touch metrics
+     * @return the write-behind session repository
+     */
+    @Bean
+    @Primary
+    public WriteBehindSessionRepository<?> writeBehindSessionRepository(JdbcIndexedSessionRepository sessionRepository,
+            JdbcTemplate jdbcTemplate, JdbcSessionProperties properties, MeterRegistry meterRegistry) {
+        return new WriteBehindSessionRepository<>(sessionRepository, jdbcTemplate, properties.getTableName(),
+                touchBatchSize, meterRegistry);
+    }
+
+    /**
+     * Session registry over the stored sessions, so a login on one node
+     * expires the sessions of the same user on the others.
+     *
+     * @param sessionRepository the write-behind session repository
+     * @return the session registry
+     */
+    @Bean
+    public SessionRegistry sessionRegistry(WriteBehindSessionRepository<?> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<WriteBehindSessionRepository.TrackedSession>(
+                sessionRepository) {
+            @Override
+            protected String name(Object principal) {
+                if (principal instanceof CustomUserDetails) {
+                    return ((CustomUserDetails) principal).getUser().getEmail();
+                }
+                return super.name(principal);
+            }
+        };
+    }
+
+    /**
+     * Create the session tables on embedded databases (tests); Flyway creates
+     * them on MySQL.
+     *
+     * @param dataSource the data source
+     * @param properties the spring.session.jdbc properties
+     * @return the schema initializer
+     */
+    @Bean
+    public JdbcSessionDataSourceScriptDatabaseInitializer jdbcSessionDataSourceScriptDatabaseInitializer(
+            DataSource dataSource, JdbcSessionProperties properties) {
+        return new JdbcSessionDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sunbooking.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the trending reviews index.
+ * Binds properties from application.properties with prefix "review.trending".
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.trending")
+@Data
+public class TrendingProperties {
+
+    /**
+     * Time after which the weight of a like or comment has halved.
+     * Default: 24 hours
+     */
+    private Duration halfLife = Duration.ofHours(24);
+
+    /**
+     * How far back likes and comments are read when the index is rebuilt.
+     * Older activity has decayed to almost nothing anyway.
+     * Default: 14 days
+     */
+    private Duration horizon = Duration.ofDays(14);
+
+    /**
+     * Weight of a comment relative to a like (a like weighs 1).
+     * Default: 2.0
+     */
+    private double commentWeight = 2.0;
+
+    /**
+     * Reviews whose decayed score drops below this value are removed from the
+     * index when it is pruned.
+     * Default: 0.05
+     */
+    private double minScore = 0.05;
+
+    /**
+     * Number of rows read per query when the index is rebuilt.
+     * Default: 1000
+     */
+    private int rebuildChunkSize = 1000;
+}
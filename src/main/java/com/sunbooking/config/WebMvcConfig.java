@@ -1,9 +1,16 @@
 package com.sunbooking.config;
 
+import java.time.Duration;
+
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
 /**
  * Web MVC Configuration
@@ -34,22 +41,55 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         "/admin/images/**",
                         "/admin/plugins/**",
                         "/webjars/**",
+                        "/media/**",
                         "/favicon.ico");
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Lets long streaming handlers (user data export) extend their own timeout
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Admin static resources
+        // Admin static resources are served under content-hashed URLs, so they
+        // can be cached for a long time and still change on every deployment
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic();
+        VersionResourceResolver versionResolver = new VersionResourceResolver()
+                .addContentVersionStrategy("/**");
+
         registry.addResourceHandler("/admin/css/**")
-                .addResourceLocations("classpath:/static/admin/css/");
+                .addResourceLocations("classpath:/static/admin/css/")
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(versionResolver);
 
         registry.addResourceHandler("/admin/js/**")
-                .addResourceLocations("classpath:/static/admin/js/");
+                .addResourceLocations("classpath:/static/admin/js/")
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(versionResolver);
 
         registry.addResourceHandler("/admin/images/**")
-                .addResourceLocations("classpath:/static/admin/images/");
+                .addResourceLocations("classpath:/static/admin/images/")
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(versionResolver);
 
         registry.addResourceHandler("/admin/plugins/**")
-                .addResourceLocations("classpath:/static/admin/plugins/");
+                .addResourceLocations("classpath:/static/admin/plugins/")
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(versionResolver);
+    }
+
+    /**
+     * Rewrites resource links rendered by Thymeleaf (@{...}) to their
+     * content-hashed form.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
     }
 }
@@ -30,6 +30,7 @@ import com.sunbooking.dto.admin.admin.AdminDTO;
 import com.sunbooking.dto.admin.admin.AdminForm;
 import com.sunbooking.dto.admin.admin.AdminListDTO;
 import com.sunbooking.dto.admin.admin.AdminSearchCriteria;
+import com.sunbooking.dto.admin.user.UserSearchMode;
 import com.sunbooking.mapper.AdminMapper;
 import com.sunbooking.service.admin.AdminManagementService;
 
@@ -61,6 +62,7 @@ public class AdminManagementController {
     @GetMapping
     public String listAdmins(
             @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "PREFIX") UserSearchMode searchMode,
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "25") Integer size,
@@ -72,6 +74,7 @@ public class AdminManagementController {
 
         AdminSearchCriteria criteria = new AdminSearchCriteria();
         criteria.setKeyword(keyword);
+        criteria.setSearchMode(searchMode);
         criteria.setIsActive(isActive);
         criteria.setPage(page);
         criteria.setSize(size);
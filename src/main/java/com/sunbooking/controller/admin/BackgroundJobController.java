@@ -0,0 +1,41 @@
+package com.sunbooking.controller.admin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.sunbooking.dto.admin.job.BackgroundJobDTO;
+import com.sunbooking.service.job.BackgroundJobRegistry;
+
+/**
+ * Controller for polling the progress of background jobs started from the
+ * admin panel. Returns JSON so pages can poll it.
+ */
+@Controller
+@RequestMapping("/admin/jobs")
+public class BackgroundJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundJobController.class);
+
+    @Autowired
+    private BackgroundJobRegistry backgroundJobRegistry;
+
+    /**
+     * Get the progress of a job.
+     */
+    @GetMapping("/{id}")
+    @ResponseBody
+    public ResponseEntity<BackgroundJobDTO> getJob(@PathVariable String id) {
+        logger.debug("Polling job - id: {}", id);
+
+        return backgroundJobRegistry.findById(id)
+                .map(job -> ResponseEntity.ok(BackgroundJobDTO.fromJob(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -13,17 +13,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sunbooking.dto.admin.review.ReviewBulkDeleteRequest;
 import com.sunbooking.dto.admin.review.ReviewDetailDTO;
 import com.sunbooking.dto.admin.review.ReviewListDTO;
 import com.sunbooking.dto.admin.review.ReviewSearchCriteria;
 import com.sunbooking.entity.CategoryType;
 import com.sunbooking.service.admin.ReviewManagementService;
+import com.sunbooking.service.admin.ReviewModerationService;
+import com.sunbooking.service.job.BackgroundJob;
 
 /**
  * Controller for managing reviews in admin panel.
@@ -39,6 +43,9 @@ public class ReviewManagementController {
     @Autowired
     private ReviewManagementService reviewManagementService;
 
+    @Autowired
+    private ReviewModerationService reviewModerationService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -127,6 +134,29 @@ public class ReviewManagementController {
         return REDIRECT_ADMIN_REVIEWS;
     }
 
+    /**
+     * Start a background job that soft deletes reviews (and their comments) by
+     * ID list, by user or by keyword.
+     */
+    @PostMapping("/bulk-delete")
+    public String bulkDeleteReviews(@ModelAttribute ReviewBulkDeleteRequest request,
+            RedirectAttributes redirectAttributes) {
+        logger.info("Starting bulk review deletion - target: {}", request.getTarget());
+
+        try {
+            BackgroundJob job = reviewModerationService.startBulkSoftDelete(request);
+            String message = messageSource.getMessage("success.review.bulk.delete.started",
+                    new Object[] { job.getId() }, LocaleContextHolder.getLocale());
+            redirectAttributes.addFlashAttribute("successMessage", message);
+            redirectAttributes.addFlashAttribute("jobId", job.getId());
+        } catch (Exception e) {
+            logger.error("Error starting bulk review deletion: {}", e.getMessage());
+            addErrorMessage(redirectAttributes, e.getMessage());
+        }
+
+        return REDIRECT_ADMIN_REVIEWS;
+    }
+
     /**
      * Soft delete a comment.
      */
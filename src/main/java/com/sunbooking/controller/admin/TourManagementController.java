@@ -6,6 +6,7 @@ import static com.sunbooking.constant.ViewConstants.ADMIN_TOURS_LIST;
 import static com.sunbooking.constant.ViewConstants.REDIRECT_ADMIN_TOURS;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import javax.validation.Valid;
 
@@ -24,14 +25,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.sunbooking.dto.admin.tour.TourDTO;
 import com.sunbooking.dto.admin.tour.TourForm;
+import com.sunbooking.dto.admin.tour.TourImageDTO;
 import com.sunbooking.dto.admin.tour.TourListDTO;
 import com.sunbooking.dto.admin.tour.TourSearchCriteria;
 import com.sunbooking.dto.admin.tour.TourStatisticsDTO;
+import com.sunbooking.exception.ValidationException;
 import com.sunbooking.service.admin.TourManagementService;
+import com.sunbooking.service.media.TourImageService;
 
 /**
  * Controller for managing tours in admin panel.
@@ -46,6 +51,9 @@ public class TourManagementController {
     @Autowired
     private TourManagementService tourManagementService;
 
+    @Autowired
+    private TourImageService tourImageService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -105,9 +113,11 @@ public class TourManagementController {
                 .orElseThrow(() -> new RuntimeException("Tour not found"));
 
         TourStatisticsDTO statistics = tourManagementService.getTourStatistics(id);
+        List<TourImageDTO> images = tourImageService.getTourImages(id);
 
         model.addAttribute("tour", tour);
         model.addAttribute("statistics", statistics);
+        model.addAttribute("images", images);
 
         return ADMIN_TOURS_DETAIL;
     }
@@ -215,6 +225,45 @@ public class TourManagementController {
         return "redirect:/admin/tours/" + id;
     }
 
+    /**
+     * Handle tour image upload.
+     */
+    @PostMapping("/{id}/images")
+    public String uploadImage(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file,
+            RedirectAttributes redirectAttributes) {
+
+        logger.info("Uploading image for tour id: {}", id);
+
+        try {
+            tourImageService.uploadImage(id, file);
+            addSuccessMessage(redirectAttributes, "success.tour.image.uploaded");
+        } catch (ValidationException | IllegalStateException e) {
+            logger.warn("Cannot upload image for tour {}: {}", id, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+
+        return "redirect:/admin/tours/" + id;
+    }
+
+    /**
+     * Handle tour image deletion.
+     */
+    @PostMapping("/{id}/images/{imageId}/delete")
+    public String deleteImage(
+            @PathVariable Long id,
+            @PathVariable Long imageId,
+            RedirectAttributes redirectAttributes) {
+
+        logger.info("Deleting image {} of tour id: {}", imageId, id);
+
+        tourImageService.deleteImage(id, imageId);
+        addSuccessMessage(redirectAttributes, "success.tour.image.deleted");
+
+        return "redirect:/admin/tours/" + id;
+    }
+
     /**
      * Utility method to add internationalized success messages.
      */
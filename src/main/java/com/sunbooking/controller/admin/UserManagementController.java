@@ -5,14 +5,21 @@ import static com.sunbooking.constant.ViewConstants.ADMIN_USERS_FORM;
 import static com.sunbooking.constant.ViewConstants.ADMIN_USERS_LIST;
 import static com.sunbooking.constant.ViewConstants.REDIRECT_ADMIN_USERS;
 
+import java.time.Duration;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Validator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -23,15 +30,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.sunbooking.config.AsyncTimeoutInterceptor;
 import com.sunbooking.dto.admin.user.UserDTO;
 import com.sunbooking.dto.admin.user.UserForm;
 import com.sunbooking.dto.admin.user.UserListDTO;
+import com.sunbooking.dto.admin.user.UserPurgeMode;
 import com.sunbooking.dto.admin.user.UserSearchCriteria;
+import com.sunbooking.dto.admin.user.UserSearchMode;
+import com.sunbooking.dto.admin.user.UserTimelineDTO;
 import com.sunbooking.entity.UserRole;
+import com.sunbooking.exception.ValidationException;
 import com.sunbooking.mapper.UserMapper;
+import com.sunbooking.service.admin.UserDataExportService;
 import com.sunbooking.service.admin.UserManagementService;
+import com.sunbooking.service.admin.UserPurgeService;
+import com.sunbooking.service.admin.UserTimelineService;
+import com.sunbooking.service.job.BackgroundJob;
 
 /**
  * Controller for user management in admin panel.
@@ -43,6 +61,8 @@ public class UserManagementController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserManagementController.class);
 
+    private static final int MAX_TIMELINE_PAGE_SIZE = 100;
+
     @Autowired
     private UserManagementService userManagementService;
 
@@ -55,22 +75,36 @@ public class UserManagementController {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserTimelineService userTimelineService;
+
+    @Autowired
+    private UserDataExportService userDataExportService;
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    @Value("${user.export.timeout:30m}")
+    private Duration exportTimeout;
+
     /**
      * List all users with search and pagination.
      *
-     * @param keyword  search keyword (optional)
-     * @param role     role filter (optional)
-     * @param isActive active status filter (optional)
-     * @param page     page number (default: 0)
-     * @param size     page size (default: 25)
-     * @param sortBy   sort field (default: createdAt)
-     * @param sortDir  sort direction (default: desc)
-     * @param model    the model
+     * @param keyword    search keyword (optional)
+     * @param searchMode prefix (indexed) or substring match (default: PREFIX)
+     * @param role       role filter (optional)
+     * @param isActive   active status filter (optional)
+     * @param page       page number (default: 0)
+     * @param size       page size (default: 25)
+     * @param sortBy     sort field (default: createdAt)
+     * @param sortDir    sort direction (default: desc)
+     * @param model      the model
      * @return view name
      */
     @GetMapping
     public String listUsers(
             @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "PREFIX") UserSearchMode searchMode,
             @RequestParam(required = false) UserRole role,
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(defaultValue = "0") Integer page,
@@ -83,6 +117,7 @@ public class UserManagementController {
 
         UserSearchCriteria criteria = new UserSearchCriteria();
         criteria.setKeyword(keyword);
+        criteria.setSearchMode(searchMode);
         criteria.setRole(role);
         criteria.setIsActive(isActive);
         criteria.setPage(page);
@@ -117,6 +152,54 @@ public class UserManagementController {
         return ADMIN_USERS_DETAIL;
     }
 
+    /**
+     * Get one page of a user's activity timeline as JSON, newest first.
+     *
+     * @param id     the user ID
+     * @param cursor the nextCursor of the previous page (optional)
+     * @param size   page size (default: 20, capped at 100)
+     * @return the timeline page, or 400 if the cursor is malformed
+     */
+    @GetMapping("/{id}/timeline")
+    @ResponseBody
+    public ResponseEntity<UserTimelineDTO> getTimeline(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.debug("Loading timeline of user {} - cursor: {}, size: {}", id, cursor, size);
+        int cappedSize = Math.max(1, Math.min(size, MAX_TIMELINE_PAGE_SIZE));
+
+        try {
+            return ResponseEntity.ok(userTimelineService.getTimeline(id, cursor, cappedSize));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Download everything stored about a user as a ZIP of NDJSON files, one per
+     * kind of data (profile, bookings, reviews, comments and likes).
+     *
+     * Large exports stream for a long time, so this request gets
+     * user.export.timeout instead of the default async timeout.
+     *
+     * @param id      the user ID
+     * @param request the HTTP request
+     * @return the streamed archive
+     */
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportUser(@PathVariable Long id, HttpServletRequest request) {
+        logger.info("Exporting data of user {}", id);
+        AsyncTimeoutInterceptor.setTimeout(request, exportTimeout);
+
+        StreamingResponseBody body = userDataExportService.exportUser(id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"user-" + id + "-data.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     /**
      * Show edit user form.
      *
@@ -205,6 +288,28 @@ public class UserManagementController {
         return REDIRECT_ADMIN_USERS;
     }
 
+    /**
+     * Start a background job that hard deletes or anonymizes a user.
+     *
+     * @param id                 the user ID
+     * @param mode               delete or anonymize
+     * @param redirectAttributes redirect attributes
+     * @return redirect URL to the user detail, which shows the job progress
+     */
+    @PostMapping("/{id}/purge")
+    public String purgeUser(@PathVariable Long id, @RequestParam UserPurgeMode mode,
+            RedirectAttributes redirectAttributes) {
+        logger.info("Starting purge of user ID: {} - mode: {}", id, mode);
+
+        BackgroundJob job = userPurgeService.startPurge(id, mode);
+        String successMessage = messageSource.getMessage("success.user.purge.started",
+                new Object[] { job.getId() }, LocaleContextHolder.getLocale());
+        redirectAttributes.addFlashAttribute("successMessage", successMessage);
+        redirectAttributes.addFlashAttribute("jobId", job.getId());
+
+        return "redirect:/admin/users/" + id;
+    }
+
     /**
      * Reactivate a soft-deleted user.
      *
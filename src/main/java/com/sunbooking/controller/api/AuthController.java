@@ -1,5 +1,6 @@
 package com.sunbooking.controller.api;
 
+import java.time.Duration;
 import java.util.Locale;
 
 import javax.servlet.http.HttpServletRequest;
@@ -9,6 +10,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,14 +26,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sunbooking.dto.api.request.LoginRequest;
+import com.sunbooking.dto.api.request.RefreshTokenRequest;
 import com.sunbooking.dto.api.request.RegisterRequest;
 import com.sunbooking.dto.api.response.ApiResponse;
 import com.sunbooking.dto.api.response.AuthResponse;
 import com.sunbooking.entity.User;
 import com.sunbooking.entity.UserRole;
+import com.sunbooking.exception.ServiceUnavailableException;
 import com.sunbooking.repository.UserRepository;
 import com.sunbooking.security.CustomUserDetails;
+import com.sunbooking.security.LoginAttemptService;
+import com.sunbooking.security.jwt.JwtAuthenticationFilter;
 import com.sunbooking.security.jwt.JwtService;
+import com.sunbooking.security.jwt.TokenDenylist;
+import com.sunbooking.service.auth.RefreshTokenService;
+import com.sunbooking.service.auth.RegisteredEmailFilter;
+
+import io.jsonwebtoken.Claims;
 
 /**
  * REST controller for authentication endpoints.
@@ -57,6 +69,18 @@ public class AuthController {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
     /**
      * Register a new user.
      *
@@ -72,13 +96,11 @@ public class AuthController {
         logger.info("Registration attempt for email: {}", registerRequest.getEmail());
         Locale locale = request.getLocale();
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            logger.warn("Registration failed: Email already exists - {}", registerRequest.getEmail());
-            String errorMsg = messageSource.getMessage("api.auth.register.email.exists", null, locale);
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(errorMsg));
+        // Only a possible match needs the existence query; the filter never
+        // misses a registered email
+        if (registeredEmailFilter.mightBeRegistered(registerRequest.getEmail())
+                && userRepository.existsByEmail(registerRequest.getEmail())) {
+            return emailExists(registerRequest.getEmail(), locale);
         }
 
         // Create new user
@@ -90,7 +112,16 @@ public class AuthController {
         user.setRole(UserRole.USER);
         user.setIsActive(true);
 
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration of the same email
+            if (userRepository.existsByEmail(registerRequest.getEmail())) {
+                return emailExists(registerRequest.getEmail(), locale);
+            }
+            throw e;
+        }
+        registeredEmailFilter.add(user.getEmail());
 
         logger.info("User registered successfully: {}", user.getEmail());
         String successMsg = messageSource.getMessage("api.auth.register.success", null, locale);
@@ -100,8 +131,31 @@ public class AuthController {
                 .body(ApiResponse.success(successMsg, null));
     }
 
+    private AuthResponse toAuthResponse(User user, String refreshToken) {
+        AuthResponse authResponse = new AuthResponse();
+        authResponse.setToken(jwtService.generateToken(user));
+        authResponse.setType("Bearer");
+        authResponse.setId(user.getId());
+        authResponse.setEmail(user.getEmail());
+        authResponse.setName(user.getName());
+        authResponse.setRole(user.getRole().toString());
+        authResponse.setRefreshToken(refreshToken);
+        authResponse.setExpiresIn(jwtService.getExpirationTime());
+        return authResponse;
+    }
+
+    private ResponseEntity<ApiResponse<String>> emailExists(String email, Locale locale) {
+        logger.warn("Registration failed: Email already exists - {}", email);
+        String errorMsg = messageSource.getMessage("api.auth.register.email.exists", null, locale);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(errorMsg));
+    }
+
     /**
      * Authenticate user and generate JWT token.
+     * Failed attempts are throttled per client IP and per email like the admin
+     * login form; a blocked client gets 429 without its password being checked.
      *
      * @param loginRequest login credentials
      * @param request      HTTP request for locale
@@ -114,6 +168,20 @@ public class AuthController {
 
         logger.info("Login attempt for email: {}", loginRequest.getEmail());
         Locale locale = request.getLocale();
+        String ipAddress = LoginAttemptService.getClientIP(request);
+
+        if (loginAttemptService.isBlocked(ipAddress, loginRequest.getEmail())) {
+            Duration lockout = loginAttemptService.getRemainingLockout(ipAddress, loginRequest.getEmail());
+            logger.warn("Blocked login attempt from IP: {} for email: {}", ipAddress, loginRequest.getEmail());
+            String errorMsg = messageSource.getMessage("api.auth.login.blocked",
+                    new Object[] { loginAttemptService.getRemainingLockoutMinutes(ipAddress,
+                            loginRequest.getEmail()) },
+                    locale);
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, lockout.toSeconds())))
+                    .body(ApiResponse.error(errorMsg));
+        }
 
         try {
             // Authenticate user
@@ -124,19 +192,12 @@ public class AuthController {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Generate JWT token
+            // Generate JWT token and start a refresh token family
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            String jwt = jwtService.generateToken(userDetails);
-
-            // Build response
-            AuthResponse authResponse = new AuthResponse();
-            authResponse.setToken(jwt);
-            authResponse.setType("Bearer");
-            authResponse.setId(userDetails.getUser().getId());
-            authResponse.setEmail(userDetails.getUser().getEmail());
-            authResponse.setName(userDetails.getUser().getName());
-            authResponse.setRole(userDetails.getUser().getRole().toString());
+            AuthResponse authResponse = toAuthResponse(userDetails.getUser(),
+                    refreshTokenService.issue(userDetails.getUser()));
 
+            loginAttemptService.resetFailedAttempts(ipAddress, loginRequest.getEmail());
             logger.info("Login successful for user: {}", loginRequest.getEmail());
             String successMsg = messageSource.getMessage("api.auth.login.success", null, locale);
 
@@ -144,11 +205,16 @@ public class AuthController {
 
         } catch (BadCredentialsException e) {
             logger.warn("Login failed: Invalid credentials for email: {}", loginRequest.getEmail());
+            loginAttemptService.recordFailedAttempt(ipAddress, loginRequest.getEmail());
             String errorMsg = messageSource.getMessage("api.auth.login.invalid", null, locale);
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(errorMsg));
         } catch (Exception e) {
+            if (e.getCause() instanceof ServiceUnavailableException) {
+                // Password hashing is saturated; answered with 503 by ApiExceptionHandler
+                throw (ServiceUnavailableException) e.getCause();
+            }
             logger.error("Login error for email: {}", loginRequest.getEmail(), e);
             String errorMsg = messageSource.getMessage("api.auth.login.error", null, locale);
             return ResponseEntity
@@ -156,4 +222,64 @@ public class AuthController {
                     .body(ApiResponse.error(errorMsg));
         }
     }
+
+    /**
+     * Renew an access token with a refresh token, without checking the
+     * password again. The refresh token is used up; the response carries its
+     * successor.
+     *
+     * @param refreshRequest the refresh token
+     * @param request        HTTP request for locale
+     * @return API response with a new access token and refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(
+            @Valid @RequestBody RefreshTokenRequest refreshRequest,
+            HttpServletRequest request) {
+
+        Locale locale = request.getLocale();
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+        if (rotation == null) {
+            logger.warn("Token refresh failed: invalid refresh token");
+            String errorMsg = messageSource.getMessage("api.auth.refresh.invalid", null, locale);
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(errorMsg));
+        }
+
+        logger.debug("Token refreshed for user ID: {}", rotation.getUser().getId());
+        String successMsg = messageSource.getMessage("api.auth.refresh.success", null, locale);
+        return ResponseEntity.ok(ApiResponse.success(successMsg,
+                toAuthResponse(rotation.getUser(), rotation.getRefreshToken())));
+    }
+
+    /**
+     * Log out by revoking the presented JWT token until it expires, and the
+     * refresh token family if a refresh token is given.
+     *
+     * @param refreshRequest the refresh token (optional)
+     * @param request        HTTP request carrying the token
+     * @return API response with logout result
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest,
+            HttpServletRequest request) {
+        Locale locale = request.getLocale();
+
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+
+        // Only reached with a token the JWT filter accepted
+        Claims claims = jwtService.parseAndValidate(JwtAuthenticationFilter.extractJwtFromRequest(request));
+        if (claims.getId() != null) {
+            tokenDenylist.revoke(claims.getId(), claims.get(JwtService.CLAIM_USER_ID, Long.class),
+                    claims.getExpiration());
+        }
+
+        logger.info("Logout successful for user: {}", claims.getSubject());
+        String successMsg = messageSource.getMessage("api.auth.logout.success", null, locale);
+        return ResponseEntity.ok(ApiResponse.success(successMsg, null));
+    }
 }
@@ -0,0 +1,106 @@
+package com.sunbooking.controller.api;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sunbooking.dto.api.response.ApiResponse;
+import com.sunbooking.dto.api.response.CommentPageResponse;
+import com.sunbooking.dto.api.response.TrendingReviewResponse;
+import com.sunbooking.entity.CategoryType;
+import com.sunbooking.service.review.CommentPageService;
+import com.sunbooking.service.review.TrendingReviewService;
+
+/**
+ * Public REST controller for browsing reviews.
+ */
+@RestController
+@RequestMapping("/api/reviews")
+public class ReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+
+    private static final int MAX_TRENDING_LIMIT = 50;
+
+    private static final int MAX_COMMENT_PAGE_SIZE = 50;
+
+    @Autowired
+    private TrendingReviewService trendingReviewService;
+
+    @Autowired
+    private CommentPageService commentPageService;
+
+    /**
+     * Get the reviews trending in a category type.
+     *
+     * @param type  the category type
+     * @param limit the maximum number of reviews (capped at 50)
+     * @return API response with the trending reviews
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingReviewResponse>>> getTrendingReviews(
+            @RequestParam CategoryType type,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        logger.debug("Trending reviews request for {} (limit {})", type, limit);
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_TRENDING_LIMIT));
+
+        return ResponseEntity.ok(ApiResponse.success(trendingReviewService.getTrendingReviews(type, cappedLimit)));
+    }
+
+    /**
+     * Get one page of the top-level comments of a review.
+     *
+     * @param reviewId    the review ID
+     * @param cursor      the nextCursor of the previous page (omit for the first
+     *                    page)
+     * @param size        the page size (capped at 50)
+     * @param newestFirst whether newer comments come first
+     * @return API response with the page of comments
+     */
+    @GetMapping("/{reviewId}/comments")
+    public ResponseEntity<ApiResponse<CommentPageResponse>> getComments(
+            @PathVariable Long reviewId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean newestFirst) {
+
+        logger.debug("Comments request for review {} (cursor {}, size {})", reviewId, cursor, size);
+        int cappedSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                commentPageService.getComments(reviewId, cursor, cappedSize, newestFirst)));
+    }
+
+    /**
+     * Get one page of the direct replies to a comment, oldest first.
+     *
+     * @param reviewId  the review ID
+     * @param commentId the comment ID
+     * @param cursor    the nextCursor of the previous page (omit for the first
+     *                  page)
+     * @param size      the page size (capped at 50)
+     * @return API response with the page of replies
+     */
+    @GetMapping("/{reviewId}/comments/{commentId}/replies")
+    public ResponseEntity<ApiResponse<CommentPageResponse>> getReplies(
+            @PathVariable Long reviewId,
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.debug("Replies request for comment {} (cursor {}, size {})", commentId, cursor, size);
+        int cappedSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+
+        return ResponseEntity.ok(ApiResponse.success(
+                commentPageService.getReplies(reviewId, commentId, cursor, cappedSize)));
+    }
+}
@@ -0,0 +1,186 @@
+package com.sunbooking.controller.api;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sunbooking.dto.api.request.CommentRequest;
+import com.sunbooking.dto.api.response.ApiResponse;
+import com.sunbooking.dto.api.response.CommentResponse;
+import com.sunbooking.dto.api.response.CommentThreadResponse;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.security.CustomUserDetails;
+import com.sunbooking.service.review.CommentThreadService;
+import com.sunbooking.service.review.LikedReviewCache;
+import com.sunbooking.service.review.ReviewInteractionService;
+
+/**
+ * REST controller for liking reviews and posting comments.
+ * All endpoints require an authenticated user.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReviewInteractionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewInteractionController.class);
+
+    private static final int MAX_LIKE_STATUS_IDS = 100;
+
+    @Autowired
+    private ReviewInteractionService reviewInteractionService;
+
+    @Autowired
+    private CommentThreadService commentThreadService;
+
+    @Autowired
+    private LikedReviewCache likedReviewCache;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Like a review.
+     *
+     * @param reviewId    the review ID
+     * @param userDetails the authenticated user
+     * @param request     HTTP request for locale
+     * @return API response with the like result
+     */
+    @PostMapping("/likes/reviews/{reviewId}")
+    public ResponseEntity<ApiResponse<Void>> likeReview(
+            @PathVariable Long reviewId,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
+
+        Long userId = userDetails.getUser().getId();
+        logger.debug("Like request for review {} by user {}", reviewId, userId);
+        Locale locale = request.getLocale();
+
+        boolean created;
+        try {
+            created = reviewInteractionService.likeReview(userId, reviewId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request inserted the same like first
+            created = false;
+        }
+        String message = messageSource.getMessage(
+                created ? "api.like.created" : "api.like.already.exists", null, locale);
+
+        return ResponseEntity
+                .status(created ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(ApiResponse.success(message));
+    }
+
+    /**
+     * Remove a like from a review.
+     *
+     * @param reviewId    the review ID
+     * @param userDetails the authenticated user
+     * @param request     HTTP request for locale
+     * @return API response with the unlike result
+     */
+    @DeleteMapping("/likes/reviews/{reviewId}")
+    public ResponseEntity<ApiResponse<Void>> unlikeReview(
+            @PathVariable Long reviewId,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
+
+        Long userId = userDetails.getUser().getId();
+        logger.debug("Unlike request for review {} by user {}", reviewId, userId);
+        Locale locale = request.getLocale();
+
+        boolean removed = reviewInteractionService.unlikeReview(userId, reviewId);
+        String message = messageSource.getMessage(
+                removed ? "api.like.removed" : "api.like.not.found", null, locale);
+
+        return ResponseEntity.ok(ApiResponse.success(message));
+    }
+
+    /**
+     * Tell which of a page of reviews the authenticated user has liked.
+     *
+     * @param ids         the review IDs (at most 100)
+     * @param userDetails the authenticated user
+     * @param request     HTTP request for locale
+     * @return API response mapping each review ID to whether it is liked
+     */
+    @GetMapping("/likes/reviews")
+    public ResponseEntity<ApiResponse<Map<Long, Boolean>>> getLikeStatus(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
+
+        if (ids.size() > MAX_LIKE_STATUS_IDS) {
+            throw new ValidationException(messageSource.getMessage(
+                    "api.like.status.too.many", new Object[] { MAX_LIKE_STATUS_IDS }, request.getLocale()));
+        }
+        Long userId = userDetails.getUser().getId();
+        logger.debug("Like status request for {} reviews by user {}", ids.size(), userId);
+
+        return ResponseEntity.ok(ApiResponse.success(likedReviewCache.getLikedFlags(userId, ids)));
+    }
+
+    /**
+     * Post a comment or a reply on a review.
+     *
+     * @param commentRequest the comment details
+     * @param userDetails    the authenticated user
+     * @param request        HTTP request for locale
+     * @return API response with the created comment
+     */
+    @PostMapping("/comments")
+    public ResponseEntity<ApiResponse<CommentResponse>> addComment(
+            @Valid @RequestBody CommentRequest commentRequest,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
+
+        Long userId = userDetails.getUser().getId();
+        logger.debug("Comment request for review {} by user {}", commentRequest.getReviewId(), userId);
+        Locale locale = request.getLocale();
+
+        CommentResponse comment = reviewInteractionService.addComment(userId, commentRequest);
+        String message = messageSource.getMessage("api.comment.created", null, locale);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(message, comment));
+    }
+
+    /**
+     * Get a comment with its nested replies.
+     * Deep or wide threads are truncated; collapsed replies are reported through
+     * hiddenReplyCount.
+     *
+     * @param commentId the comment ID
+     * @return API response with the comment thread
+     */
+    @GetMapping("/comments/{commentId}/thread")
+    public ResponseEntity<ApiResponse<CommentThreadResponse>> getCommentThread(@PathVariable Long commentId) {
+        logger.debug("Comment thread request for comment {}", commentId);
+
+        CommentThreadResponse thread = CommentThreadResponse.fromThreadNode(
+                commentThreadService.loadSubThread(commentId));
+
+        return ResponseEntity.ok(ApiResponse.success(thread));
+    }
+}
@@ -0,0 +1,196 @@
+package com.sunbooking.controller.media;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.sunbooking.config.MediaProperties;
+import com.sunbooking.entity.TourImage;
+import com.sunbooking.service.media.MediaStorageService;
+import com.sunbooking.service.media.TourImageService;
+
+/**
+ * Public controller serving tour photos from disk.
+ * Supports conditional requests (ETag / Last-Modified), single byte ranges and
+ * long-lived caching, since stored files never change. File bodies are handed to
+ * the container's sendfile support when available and otherwise copied with
+ * {@link FileChannel#transferTo}, so no file is ever buffered on the heap.
+ */
+@Controller
+@RequestMapping("/media/tour-images")
+public class TourMediaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TourMediaController.class);
+
+    private static final String VARIANT_ORIGINAL = "original";
+    private static final String VARIANT_THUMBNAIL = "thumbnail";
+
+    // Tomcat sendfile request attributes (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // Below this size the write is cheaper than handing the file to the poller
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    @Autowired
+    private TourImageService tourImageService;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private MediaProperties mediaProperties;
+
+    /**
+     * Serve the original or the thumbnail of a tour image.
+     */
+    @GetMapping("/{imageId}/{variant}")
+    public void serveImage(@PathVariable Long imageId,
+            @PathVariable String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        if (!VARIANT_ORIGINAL.equals(variant) && !VARIANT_THUMBNAIL.equals(variant)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        TourImage image = tourImageService.findImage(imageId).orElse(null);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Until the thumbnail exists, answer with the original but do not let it
+        // be cached under the thumbnail URL
+        boolean thumbnail = VARIANT_THUMBNAIL.equals(variant) && image.hasThumbnail();
+        boolean immutable = thumbnail || VARIANT_ORIGINAL.equals(variant);
+        Path file = thumbnail
+                ? mediaStorageService.getThumbnailPath(image.getStorageKey())
+                : mediaStorageService.getOriginalPath(image.getStorageKey());
+
+        if (!Files.isRegularFile(file)) {
+            logger.warn("Media file missing for image {} ({})", imageId, variant);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + image.getStorageKey() + (thumbnail ? "-t" : "") + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable
+                ? CacheControl.maxAge(mediaProperties.getCacheMaxAge()).cachePublic().getHeaderValue() + ", immutable"
+                : CacheControl.noCache().getHeaderValue());
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(thumbnail ? mediaStorageService.getThumbnailContentType() : image.getContentType());
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request, etag, lastModified)) {
+            HttpRange range = parseSingleRange(rangeHeader);
+            long rangeStart = range != null ? range.getRangeStart(length) : -1;
+            long rangeEnd = range != null ? range.getRangeEnd(length) : -1;
+            if (range == null || rangeStart >= length || rangeStart > rangeEnd) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = rangeStart;
+            end = rangeEnd;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // The connector streams the file straight from the page cache to the socket
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * A Range header only applies if If-Range is absent or still matches the
+     * current representation.
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parse a Range header holding exactly one range; multi-range requests are
+     * not supported for images and are treated as unsatisfiable.
+     */
+    private HttpRange parseSingleRange(String rangeHeader) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.sunbooking.dto.admin.admin;
 
+import com.sunbooking.dto.admin.user.UserSearchMode;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class AdminSearchCriteria {
 
     private String keyword; // Search in name or email
+    private UserSearchMode searchMode = UserSearchMode.PREFIX; // Prefix (indexed) or substring match
     private Boolean isActive; // Filter by active status
     private Integer page = 0;
     private Integer size = 25;
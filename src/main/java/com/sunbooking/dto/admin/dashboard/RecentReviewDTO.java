@@ -46,8 +46,8 @@ public class RecentReviewDTO {
                 .categoryType(review.getCategory() != null ? review.getCategory().getType() : null)
                 .isActive(review.getIsActive())
                 .createdAt(review.getCreatedAt())
-                .commentCount(review.getComments() != null ? review.getComments().size() : 0)
-                .likeCount(review.getLikes() != null ? review.getLikes().size() : 0)
+                .commentCount(review.getCommentCount())
+                .likeCount(review.getLikeCount())
                 .build();
     }
 }
@@ -0,0 +1,54 @@
+package com.sunbooking.dto.admin.job;
+
+import java.time.LocalDateTime;
+
+import com.sunbooking.service.job.BackgroundJob;
+import com.sunbooking.service.job.BackgroundJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for polling the progress of a background job.
+ * total is -1 while the number of items is not known.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackgroundJobDTO {
+
+    private String id;
+    private String type;
+    private String description;
+    private BackgroundJobStatus status;
+    private long total;
+    private long processed;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Create DTO from a job.
+     *
+     * @param job the background job
+     * @return DTO instance
+     */
+    public static BackgroundJobDTO fromJob(BackgroundJob job) {
+        return BackgroundJobDTO.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .description(job.getDescription())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.sunbooking.dto.admin.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the bulk review deletion form.
+ * Only the field matching the selected target is used.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewBulkDeleteRequest {
+
+    /**
+     * How the reviews to delete are selected.
+     */
+    public enum Target {
+        IDS,
+        USER,
+        KEYWORD
+    }
+
+    private Target target;
+    private String reviewIds; // Comma or whitespace separated review IDs
+    private Long userId;
+    private String keyword; // Matched against title and content
+}
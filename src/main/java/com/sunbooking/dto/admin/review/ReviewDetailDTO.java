@@ -6,8 +6,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.sunbooking.entity.CategoryType;
-import com.sunbooking.entity.Comment;
 import com.sunbooking.entity.Review;
+import com.sunbooking.repository.projection.CommentThreadRow;
+import com.sunbooking.service.review.CommentThreadNode;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -48,7 +49,8 @@ public class ReviewDetailDTO {
     /**
      * Convert Review entity to ReviewDetailDTO using Builder pattern.
      * Note: Caller should validate review integrity using validator before calling
-     * this method.
+     * this method. Comments are not mapped here; the caller loads the thread
+     * separately and sets them.
      *
      * @param review the review entity (must not be null, must have user and
      *               category)
@@ -74,11 +76,6 @@ public class ReviewDetailDTO {
                 .createdAt(review.getCreatedAt())
                 .updatedAt(review.getUpdatedAt())
                 .deletedAt(review.getDeletedAt())
-                .comments(review.getComments() != null
-                        ? review.getComments().stream()
-                                .map(CommentDTO::fromEntity)
-                                .collect(Collectors.toList())
-                        : new ArrayList<>())
                 .build();
     }
 
@@ -100,24 +97,30 @@ public class ReviewDetailDTO {
         private LocalDateTime deletedAt;
         @Builder.Default
         private List<CommentDTO> replies = new ArrayList<>();
+        private int hiddenReplyCount;
 
-        public static CommentDTO fromEntity(Comment comment) {
+        /**
+         * Convert an assembled comment thread node, with its replies, to a
+         * CommentDTO.
+         *
+         * @param node the thread node
+         * @return the comment DTO
+         */
+        public static CommentDTO fromThreadNode(CommentThreadNode node) {
+            CommentThreadRow comment = node.getComment();
             return CommentDTO.builder()
                     .id(comment.getId())
                     .content(comment.getContent())
-                    .userName(comment.getUser().getName())
-                    .userEmail(comment.getUser().getEmail())
-                    .parentCommentId(comment.getParentComment() != null
-                            ? comment.getParentComment().getId()
-                            : null)
+                    .userName(comment.getUserName())
+                    .userEmail(comment.getUserEmail())
+                    .parentCommentId(comment.getParentCommentId())
                     .isActive(comment.getIsActive())
                     .createdAt(comment.getCreatedAt())
                     .deletedAt(comment.getDeletedAt())
-                    .replies(comment.getReplies() != null
-                            ? comment.getReplies().stream()
-                                    .map(CommentDTO::fromEntity)
-                                    .collect(Collectors.toList())
-                            : new ArrayList<>())
+                    .replies(node.getReplies().stream()
+                            .map(CommentDTO::fromThreadNode)
+                            .collect(Collectors.toList()))
+                    .hiddenReplyCount(node.getHiddenReplyCount())
                     .build();
         }
     }
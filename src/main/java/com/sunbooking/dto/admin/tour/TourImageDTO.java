@@ -0,0 +1,71 @@
+package com.sunbooking.dto.admin.tour;
+
+import java.time.LocalDateTime;
+
+import com.sunbooking.entity.TourImage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for displaying tour photos in admin views.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourImageDTO {
+    private Long id;
+    private String originalFilename;
+    private String contentType;
+    private Long sizeBytes;
+    private Boolean thumbnailReady;
+    private LocalDateTime createdAt;
+    private String url;
+    private String thumbnailUrl;
+
+    /**
+     * Convert TourImage entity to TourImageDTO.
+     *
+     * @param image the tour image entity
+     * @return the tour image DTO
+     */
+    public static TourImageDTO fromEntity(TourImage image) {
+        if (image == null) {
+            return null;
+        }
+
+        return TourImageDTO.builder()
+                .id(image.getId())
+                .originalFilename(image.getOriginalFilename())
+                .contentType(image.getContentType())
+                .sizeBytes(image.getSizeBytes())
+                .thumbnailReady(image.getThumbnailReady())
+                .createdAt(image.getCreatedAt())
+                .url(originalUrl(image.getId()))
+                .thumbnailUrl(thumbnailUrl(image.getId()))
+                .build();
+    }
+
+    /**
+     * Build the public URL of an original image.
+     *
+     * @param imageId the image ID
+     * @return the URL path
+     */
+    public static String originalUrl(Long imageId) {
+        return "/media/tour-images/" + imageId + "/original";
+    }
+
+    /**
+     * Build the public URL of an image thumbnail.
+     *
+     * @param imageId the image ID
+     * @return the URL path
+     */
+    public static String thumbnailUrl(Long imageId) {
+        return "/media/tour-images/" + imageId + "/thumbnail";
+    }
+}
@@ -28,6 +28,9 @@ public class TourListDTO {
     private LocalDateTime createdAt;
     private LocalDateTime deletedAt;
 
+    // Cover thumbnail URL (null when the tour has no photos)
+    private String thumbnailUrl;
+
     // Statistics fields (optional, can be loaded separately)
     private Long bookingCount;
     private BigDecimal totalRevenue;
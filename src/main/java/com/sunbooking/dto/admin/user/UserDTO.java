@@ -32,6 +32,7 @@ public class UserDTO {
     private long totalBookings;
     private long totalReviews;
     private long totalComments;
+    private long totalLikes;
 
     /**
      * Convert User entity to UserDTO.
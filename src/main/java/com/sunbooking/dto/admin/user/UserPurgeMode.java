@@ -0,0 +1,17 @@
+package com.sunbooking.dto.admin.user;
+
+/**
+ * How the data of a user is removed for good.
+ */
+public enum UserPurgeMode {
+    /**
+     * Hard delete the user with their bookings, reviews, comments and likes.
+     */
+    DELETE,
+
+    /**
+     * Keep reviews, comments, likes and bookings but strip everything that
+     * identifies the user.
+     */
+    ANONYMIZE
+}
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class UserSearchCriteria {
 
     private String keyword; // Search in name or email
+    private UserSearchMode searchMode = UserSearchMode.PREFIX; // Prefix (indexed) or substring match
     private UserRole role; // Filter by role
     private Boolean isActive; // Filter by active status
     private Integer page = 0; // Page number (0-indexed)
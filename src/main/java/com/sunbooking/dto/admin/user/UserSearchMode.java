@@ -0,0 +1,16 @@
+package com.sunbooking.dto.admin.user;
+
+/**
+ * How a user search keyword is matched against name and email.
+ */
+public enum UserSearchMode {
+    /**
+     * Name or email starts with the keyword. Uses the search column indexes.
+     */
+    PREFIX,
+
+    /**
+     * Name or email contains the keyword anywhere. Scans the whole table.
+     */
+    CONTAINS
+}
@@ -0,0 +1,24 @@
+package com.sunbooking.dto.admin.user;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one page of a user's activity timeline, newest first.
+ * The next page is requested by passing nextCursor back; it is null on the
+ * last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTimelineDTO {
+
+    private List<UserTimelineEntryDTO> entries;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,51 @@
+package com.sunbooking.dto.admin.user;
+
+import java.time.LocalDateTime;
+
+import com.sunbooking.repository.projection.TimelineRow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one entry of a user's activity timeline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTimelineEntryDTO {
+
+    /**
+     * Kind of activity. The declaration order breaks ties between entries
+     * created at the same time.
+     */
+    public enum Type {
+        BOOKING, REVIEW, COMMENT, LIKE
+    }
+
+    private Type type;
+    private Long id;
+    private Long refId; // Tour ID for bookings, review ID otherwise
+    private String summary;
+    private LocalDateTime createdAt;
+
+    /**
+     * Create DTO from a timeline row.
+     *
+     * @param type the kind of activity
+     * @param row  the timeline row
+     * @return DTO instance
+     */
+    public static UserTimelineEntryDTO fromRow(Type type, TimelineRow row) {
+        return UserTimelineEntryDTO.builder()
+                .type(type)
+                .id(row.getId())
+                .refId(row.getRefId())
+                .summary(row.getSummary())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.sunbooking.dto.api.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for creating a comment or a reply on a review.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentRequest {
+
+    @NotNull(message = "{validation.review.required}")
+    private Long reviewId;
+
+    private Long parentCommentId;
+
+    @NotBlank(message = "{validation.comment.content.required}")
+    @Size(max = 5000, message = "{validation.comment.content.size}")
+    private String content;
+}
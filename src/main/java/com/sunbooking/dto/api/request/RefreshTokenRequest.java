@@ -0,0 +1,19 @@
+package com.sunbooking.dto.api.request;
+
+import javax.validation.constraints.NotBlank;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO carrying an API refresh token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "{validation.refresh.token.required}")
+    private String refreshToken;
+}
@@ -18,4 +18,15 @@ public class AuthResponse {
     private String email;
     private String name;
     private String role;
+
+    /**
+     * Opaque token for /api/auth/refresh; works once, the response carries its
+     * successor.
+     */
+    private String refreshToken;
+
+    /**
+     * Lifetime of the access token in milliseconds.
+     */
+    private Long expiresIn;
 }
@@ -0,0 +1,24 @@
+package com.sunbooking.dto.api.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated comment list.
+ * The next page is requested by passing nextCursor back as the cursor
+ * parameter; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageResponse {
+
+    private List<CommentResponse> comments;
+    private String nextCursor;
+    private boolean hasMore;
+}
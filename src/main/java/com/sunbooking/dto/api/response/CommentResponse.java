@@ -0,0 +1,50 @@
+package com.sunbooking.dto.api.response;
+
+import java.time.LocalDateTime;
+
+import com.sunbooking.entity.Comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public representation of a comment returned by the API.
+ * Does not expose the author's email address.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentResponse {
+
+    private Long id;
+    private Long reviewId;
+    private Long parentCommentId;
+    private String content;
+    private String userName;
+    private LocalDateTime createdAt;
+
+    /**
+     * Number of active direct replies; only set on paginated comment lists.
+     */
+    private Long replyCount;
+
+    /**
+     * Convert Comment entity to CommentResponse.
+     *
+     * @param comment the comment entity (user must be loaded)
+     * @return the comment response
+     */
+    public static CommentResponse fromEntity(Comment comment) {
+        return CommentResponse.builder()
+                .id(comment.getId())
+                .reviewId(comment.getReview().getId())
+                .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
+                .content(comment.getContent())
+                .userName(comment.getUser().getName())
+                .createdAt(comment.getCreatedAt())
+                .build();
+    }
+}
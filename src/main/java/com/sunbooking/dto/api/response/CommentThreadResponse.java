@@ -0,0 +1,59 @@
+package com.sunbooking.dto.api.response;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.sunbooking.repository.projection.CommentThreadRow;
+import com.sunbooking.service.review.CommentThreadNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public representation of a comment with its nested replies.
+ * hiddenReplyCount tells clients how many direct replies were collapsed
+ * because the thread was truncated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadResponse {
+
+    private Long id;
+    private Long reviewId;
+    private Long parentCommentId;
+    private String content;
+    private String userName;
+    private LocalDateTime createdAt;
+    @Builder.Default
+    private List<CommentThreadResponse> replies = new ArrayList<>();
+    private int hiddenReplyCount;
+
+    /**
+     * Convert an assembled comment thread node, with its replies, to a
+     * CommentThreadResponse.
+     *
+     * @param node the thread node
+     * @return the comment thread response
+     */
+    public static CommentThreadResponse fromThreadNode(CommentThreadNode node) {
+        CommentThreadRow comment = node.getComment();
+        return CommentThreadResponse.builder()
+                .id(comment.getId())
+                .reviewId(comment.getReviewId())
+                .parentCommentId(comment.getParentCommentId())
+                .content(comment.getContent())
+                .userName(comment.getUserName())
+                .createdAt(comment.getCreatedAt())
+                .replies(node.getReplies().stream()
+                        .map(CommentThreadResponse::fromThreadNode)
+                        .collect(Collectors.toList()))
+                .hiddenReplyCount(node.getHiddenReplyCount())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.sunbooking.dto.api.response;
+
+import java.time.LocalDateTime;
+
+import com.sunbooking.entity.CategoryType;
+import com.sunbooking.entity.Review;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public representation of a trending review returned by the API.
+ * score is the time-decayed weight of the review's recent likes and comments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingReviewResponse {
+
+    private Long id;
+    private String title;
+    private String userName;
+    private String categoryName;
+    private CategoryType categoryType;
+    private Integer likeCount;
+    private Integer commentCount;
+    private LocalDateTime createdAt;
+    private double score;
+
+    /**
+     * Convert Review entity to TrendingReviewResponse.
+     *
+     * @param review the review entity (user and category must be loaded)
+     * @param score  the current trending score
+     * @return the trending review response
+     */
+    public static TrendingReviewResponse fromEntity(Review review, double score) {
+        return TrendingReviewResponse.builder()
+                .id(review.getId())
+                .title(review.getTitle())
+                .userName(review.getUser().getName())
+                .categoryName(review.getCategory().getName())
+                .categoryType(review.getCategory().getType())
+                .likeCount(review.getLikeCount())
+                .commentCount(review.getCommentCount())
+                .createdAt(review.getCreatedAt())
+                .score(score)
+                .build();
+    }
+}
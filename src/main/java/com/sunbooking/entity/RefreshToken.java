@@ -0,0 +1,63 @@
+package com.sunbooking.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Entity representing an API refresh token.
+ * Only the SHA-256 hash of the opaque token is stored. Every token belongs to
+ * a family started at login; each refresh marks the presented token used and
+ * adds its successor to the family. The stamp is the user's security stamp at
+ * issue time, so a password or role change ends the family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64, updatable = false)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36, updatable = false)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_refresh_tokens_user_id"))
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "stamp", nullable = false, length = 16, updatable = false)
+    private String stamp;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "used_at", nullable = true)
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at", nullable = true)
+    private LocalDateTime revokedAt;
+}
@@ -88,6 +88,15 @@ public class Review {
     @Column(name = "deleted_at", nullable = true)
     private LocalDateTime deletedAt;
 
+    // Denormalized counters, maintained only through update queries
+    // (ReviewRepository, LikeCounterBuffer); never written when the entity
+    // itself is saved
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private Integer likeCount = 0;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Integer commentCount = 0;
+
     // Relationships
 
     @JsonIgnore
@@ -139,22 +148,4 @@ public class Review {
     public boolean isTourReview() {
         return this.tour != null;
     }
-
-    /**
-     * Get the number of likes for this review.
-     *
-     * @return the count of likes
-     */
-    public int getLikeCount() {
-        return this.likes != null ? this.likes.size() : 0;
-    }
-
-    /**
-     * Get the number of comments for this review.
-     *
-     * @return the count of comments
-     */
-    public int getCommentCount() {
-        return this.comments != null ? this.comments.size() : 0;
-    }
 }
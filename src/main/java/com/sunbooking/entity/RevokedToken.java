@@ -0,0 +1,39 @@
+package com.sunbooking.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing an API token revoked before its expiry.
+ * Only the token ID is kept. The user ID is informational and deliberately not
+ * a foreign key, so purging a user does not depend on these rows; they are
+ * removed once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", nullable = false, length = 36, updatable = false)
+    private String jti;
+
+    @Column(name = "user_id", nullable = true, updatable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+}
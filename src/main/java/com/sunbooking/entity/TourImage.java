@@ -0,0 +1,81 @@
+package com.sunbooking.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a photo attached to a tour.
+ * The binary content is stored on disk; this row only keeps the storage key and
+ * metadata needed to serve the original and its thumbnail.
+ */
+@Entity
+@Table(name = "tour_images")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class TourImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "{validation.tour.required}")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tour_id", nullable = false, foreignKey = @ForeignKey(name = "fk_tour_images_tour_id"))
+    @JsonIgnore
+    private Tour tour;
+
+    @NotNull
+    @Column(name = "storage_key", nullable = false, unique = true, length = 36, updatable = false)
+    private String storageKey;
+
+    @Column(name = "original_filename", nullable = true, length = 255)
+    private String originalFilename;
+
+    @NotNull
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    @NotNull
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @NotNull
+    @Column(name = "thumbnail_ready", nullable = false)
+    private Boolean thumbnailReady = false;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Check if the thumbnail for this image has been generated.
+     *
+     * @return true if the thumbnail is available on disk, false otherwise
+     */
+    public boolean hasThumbnail() {
+        return Boolean.TRUE.equals(this.thumbnailReady);
+    }
+}
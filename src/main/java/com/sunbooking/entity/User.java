@@ -1,5 +1,6 @@
 package com.sunbooking.entity;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +15,8 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotNull;
@@ -24,6 +27,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sunbooking.util.SearchTextNormalizer;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,6 +38,7 @@ import lombok.ToString;
  * Entity representing a user in the system (both regular users and
  * administrators).
  * Implements soft-delete pattern using is_active and deleted_at fields.
+ * Serializable so the signed-in user can be stored in database sessions.
  */
 @Entity
 @Table(name = "users")
@@ -42,7 +47,9 @@ import lombok.ToString;
 @AllArgsConstructor
 @ToString(exclude = { "bookings", "reviews", "comments", "likes" })
 @EntityListeners(AuditingEntityListener.class)
-public class User {
+public class User implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -64,6 +71,18 @@ public class User {
     @Column(name = "password", nullable = false, length = 255)
     private String password;
 
+    /**
+     * Normalized copies of name and email for indexed prefix search, kept in
+     * sync by {@link #updateSearchColumns()}.
+     */
+    @JsonIgnore
+    @Column(name = "name_search", length = 255)
+    private String nameSearch;
+
+    @JsonIgnore
+    @Column(name = "email_search", length = 255)
+    private String emailSearch;
+
     @Size(max = 50, message = "{validation.phone.size}")
     @Column(name = "phone", length = 50)
     private String phone;
@@ -106,6 +125,17 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Like> likes = new ArrayList<>();
 
+    /**
+     * Refresh the search columns from name and email before every insert and
+     * update.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateSearchColumns() {
+        this.nameSearch = SearchTextNormalizer.normalize(this.name);
+        this.emailSearch = SearchTextNormalizer.normalize(this.email);
+    }
+
     /**
      * Soft delete the user by setting is_active to false and recording the deletion
      * timestamp.
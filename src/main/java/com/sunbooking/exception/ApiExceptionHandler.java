@@ -9,11 +9,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import com.sunbooking.dto.api.response.ErrorResponse;
@@ -115,6 +117,30 @@ public class ApiExceptionHandler {
                 return new ResponseEntity<>(errorResponse, errorCode.getHttpStatus());
         }
 
+        /**
+         * Handle ServiceUnavailableException
+         * The request was shed under load; the client may retry shortly
+         */
+        @ExceptionHandler(ServiceUnavailableException.class)
+        public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+                        ServiceUnavailableException ex, HttpServletRequest request) {
+
+                logger.warn("Service unavailable: {}", ex.getMessage());
+
+                Locale locale = request.getLocale();
+                ErrorCode errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+                ErrorResponse errorResponse = new ErrorResponse(
+                                errorCode.getStatusValue(),
+                                errorCode.getCode(),
+                                errorCode.getMessage(),
+                                messageSource.getMessage("api.error.unavailable", null, locale),
+                                request.getRequestURI());
+
+                return ResponseEntity.status(errorCode.getHttpStatus())
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(errorResponse);
+        }
+
         /**
          * Handle DuplicateResourceException
          */
@@ -186,6 +212,30 @@ public class ApiExceptionHandler {
                 return new ResponseEntity<>(errorResponse, errorCode.getHttpStatus());
         }
 
+        /**
+         * Handle MethodArgumentTypeMismatchException (e.g. unknown enum value in a
+         * request parameter)
+         */
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+                        MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+
+                logger.warn("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+                Locale locale = request.getLocale();
+
+                ErrorCode errorCode = ErrorCode.VALIDATION_ERROR;
+                String detailMessage = messageSource.getMessage("api.error.parameter.invalid",
+                                new Object[] { ex.getName(), ex.getValue() }, locale);
+                ErrorResponse errorResponse = new ErrorResponse(
+                                errorCode.getStatusValue(),
+                                errorCode.getCode(),
+                                errorCode.getMessage(),
+                                detailMessage,
+                                request.getRequestURI());
+
+                return new ResponseEntity<>(errorResponse, errorCode.getHttpStatus());
+        }
+
         /**
          * Handle NoHandlerFoundException (404)
          */
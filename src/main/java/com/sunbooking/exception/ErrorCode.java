@@ -24,7 +24,9 @@ public enum ErrorCode {
     // 5xx Server Errors
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR),
 
-    EXTERNAL_SERVICE_ERROR("EXTERNAL_SERVICE_ERROR", "External Service Error", HttpStatus.BAD_GATEWAY);
+    EXTERNAL_SERVICE_ERROR("EXTERNAL_SERVICE_ERROR", "External Service Error", HttpStatus.BAD_GATEWAY),
+
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", "Service Unavailable", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final String code;
     private final String message;
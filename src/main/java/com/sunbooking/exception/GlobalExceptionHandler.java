@@ -113,6 +113,24 @@ public class GlobalExceptionHandler {
         return mav;
     }
 
+    /**
+     * Handle ServiceUnavailableException
+     * The request was shed under load
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ModelAndView handleServiceUnavailableException(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+
+        logger.warn("Service unavailable: {}", ex.getMessage());
+
+        ModelAndView mav = new ModelAndView(ERROR_500);
+        mav.addObject("errorMessage", "The server is busy. Please try again in a moment.");
+        mav.addObject("requestUrl", request.getRequestURI());
+        mav.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+
+        return mav;
+    }
+
     /**
      * Handle DuplicateResourceException
      * For form submissions, return to form with error message
@@ -0,0 +1,16 @@
+package com.sunbooking.exception;
+
+/**
+ * Exception thrown when a request is shed because the server is saturated.
+ * The client may retry later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
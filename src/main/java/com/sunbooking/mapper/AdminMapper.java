@@ -66,6 +66,8 @@ public interface AdminMapper {
     @Mapping(target = "reviews", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "nameSearch", ignore = true)
+    @Mapping(target = "emailSearch", ignore = true)
     void updateEntityFromForm(AdminForm form, @MappingTarget User user);
 
     /**
@@ -85,5 +87,7 @@ public interface AdminMapper {
     @Mapping(target = "reviews", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "nameSearch", ignore = true)
+    @Mapping(target = "emailSearch", ignore = true)
     User toEntity(AdminForm form);
 }
@@ -18,8 +18,8 @@ public interface UserMapper {
 
     /**
      * Convert User entity to UserDTO.
-     * Statistics fields (totalBookings, totalReviews, totalComments) are set in
-     * service layer.
+     * Statistics fields (totalBookings, totalReviews, totalComments, totalLikes)
+     * are set in service layer.
      *
      * @param user the user entity
      * @return the user DTO
@@ -27,6 +27,7 @@ public interface UserMapper {
     @Mapping(target = "totalBookings", ignore = true)
     @Mapping(target = "totalReviews", ignore = true)
     @Mapping(target = "totalComments", ignore = true)
+    @Mapping(target = "totalLikes", ignore = true)
     UserDTO toDTO(User user);
 
     /**
@@ -67,6 +68,8 @@ public interface UserMapper {
     @Mapping(target = "reviews", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "nameSearch", ignore = true)
+    @Mapping(target = "emailSearch", ignore = true)
     void updateEntityFromForm(UserForm form, @MappingTarget User user);
 
     /**
@@ -84,5 +87,7 @@ public interface UserMapper {
     @Mapping(target = "reviews", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "nameSearch", ignore = true)
+    @Mapping(target = "emailSearch", ignore = true)
     User toEntity(UserForm form);
 }
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Repository;
 import com.sunbooking.entity.Booking;
 import com.sunbooking.entity.BookingStatus;
 import com.sunbooking.entity.PaymentStatus;
+import com.sunbooking.repository.projection.TimelineRow;
 
 /**
  * Repository interface for Booking entity.
@@ -48,6 +49,26 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
          */
         Page<Booking> findByUserId(Long userId, Pageable pageable);
 
+        /**
+         * Find bookings of a user created before a position, newest first
+         * (keyset pagination). Used as one source of the user activity timeline.
+         *
+         * @param userId          the user ID
+         * @param beforeCreatedAt the creation time of the last row of the previous
+         *                        chunk
+         * @param beforeId        the ID of the last row of the previous chunk
+         * @param pageable        the chunk size (use PageRequest.of(0, size))
+         * @return the next timeline rows
+         */
+        @Query("SELECT b.id AS id, b.createdAt AS createdAt, t.id AS refId, CONCAT(b.bookingCode, ' - ', t.title) AS summary " +
+                "FROM Booking b JOIN b.tour t WHERE b.user.id = :userId " +
+                "AND (b.createdAt < :beforeCreatedAt OR (b.createdAt = :beforeCreatedAt AND b.id < :beforeId)) " +
+                "ORDER BY b.createdAt DESC, b.id DESC")
+        List<TimelineRow> findTimelineRowsByUserId(@Param("userId") Long userId,
+                @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                @Param("beforeId") Long beforeId,
+                Pageable pageable);
+
         /**
          * Find all bookings for a specific tour.
          *
@@ -1,5 +1,7 @@
 package com.sunbooking.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,11 +9,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sunbooking.entity.Comment;
+import com.sunbooking.repository.projection.CommentThreadRow;
+import com.sunbooking.repository.projection.TimelineRow;
 
 /**
  * Repository interface for Comment entity.
@@ -47,6 +52,26 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
      */
     Page<Comment> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Find comments of a user created before a position, newest first
+     * (keyset pagination). Used as one source of the user activity timeline.
+     *
+     * @param userId          the user ID
+     * @param beforeCreatedAt the creation time of the last row of the previous
+     *                        chunk
+     * @param beforeId        the ID of the last row of the previous chunk
+     * @param pageable        the chunk size (use PageRequest.of(0, size))
+     * @return the next timeline rows
+     */
+    @Query("SELECT c.id AS id, c.createdAt AS createdAt, c.review.id AS refId, SUBSTRING(c.content, 1, 200) AS summary " +
+            "FROM Comment c WHERE c.user.id = :userId " +
+            "AND (c.createdAt < :beforeCreatedAt OR (c.createdAt = :beforeCreatedAt AND c.id < :beforeId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<TimelineRow> findTimelineRowsByUserId(@Param("userId") Long userId,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
     /**
      * Find active comments by user.
      *
@@ -106,6 +131,123 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
             "ORDER BY c.createdAt ASC")
     List<Comment> findAllRepliesByParentCommentId(@Param("parentCommentId") Long parentCommentId);
 
+    /**
+     * Find active top-level comments of a review created after a position,
+     * oldest first (keyset pagination). Served by the
+     * (review_id, is_active, parent_comment_id, created_at, id) index, where
+     * they are one contiguous range.
+     *
+     * @param reviewId       the review ID
+     * @param afterCreatedAt the creation time of the last comment of the previous
+     *                       page
+     * @param afterId        the ID of the last comment of the previous page
+     * @param pageable       the page size (use PageRequest.of(0, size))
+     * @return the next comments, with their users loaded
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+            "WHERE c.review.id = :reviewId AND c.isActive = true AND c.parentComment IS NULL " +
+            "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findTopLevelAfter(@Param("reviewId") Long reviewId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Find active top-level comments of a review created before a position,
+     * newest first (keyset pagination). Served by the same index, read
+     * backwards.
+     *
+     * @param reviewId        the review ID
+     * @param beforeCreatedAt the creation time of the last comment of the
+     *                        previous page
+     * @param beforeId        the ID of the last comment of the previous page
+     * @param pageable        the page size (use PageRequest.of(0, size))
+     * @return the next comments, with their users loaded
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+            "WHERE c.review.id = :reviewId AND c.isActive = true AND c.parentComment IS NULL " +
+            "AND (c.createdAt < :beforeCreatedAt OR (c.createdAt = :beforeCreatedAt AND c.id < :beforeId)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findTopLevelBefore(@Param("reviewId") Long reviewId,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    /**
+     * Find active replies to a comment created after a position, oldest first
+     * (keyset pagination). Served by the
+     * (parent_comment_id, is_active, created_at, id) index; the review is
+     * checked on the parent, so the review indexes do not apply to the replies.
+     *
+     * @param reviewId        the review ID the parent comment belongs to
+     * @param parentCommentId the parent comment ID
+     * @param afterCreatedAt  the creation time of the last reply of the previous
+     *                        page
+     * @param afterId         the ID of the last reply of the previous page
+     * @param pageable        the page size (use PageRequest.of(0, size))
+     * @return the next replies, with their users loaded
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user JOIN c.parentComment p " +
+            "WHERE p.id = :parentCommentId AND p.review.id = :reviewId AND c.isActive = true " +
+            "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findRepliesAfter(@Param("reviewId") Long reviewId,
+            @Param("parentCommentId") Long parentCommentId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Load every active comment of a review as flat thread rows, oldest first.
+     * One query for the whole discussion, served by the
+     * (review_id, is_active, created_at, id) index.
+     *
+     * @param reviewId the review ID
+     * @return the active comments of the review in creation order
+     */
+    @Query("SELECT c.id AS id, c.parentComment.id AS parentCommentId, c.review.id AS reviewId, " +
+            "c.content AS content, u.name AS userName, u.email AS userEmail, c.isActive AS isActive, " +
+            "c.createdAt AS createdAt, c.deletedAt AS deletedAt " +
+            "FROM Comment c JOIN c.user u " +
+            "WHERE c.review.id = :reviewId AND c.isActive = true ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentThreadRow> findActiveThreadRowsByReviewId(@Param("reviewId") Long reviewId);
+
+    /**
+     * Load every comment of a review, including soft-deleted ones, as flat
+     * thread rows, oldest first. Used by the admin review detail view.
+     *
+     * @param reviewId the review ID
+     * @return all comments of the review in creation order
+     */
+    @Query("SELECT c.id AS id, c.parentComment.id AS parentCommentId, c.review.id AS reviewId, " +
+            "c.content AS content, u.name AS userName, u.email AS userEmail, c.isActive AS isActive, " +
+            "c.createdAt AS createdAt, c.deletedAt AS deletedAt " +
+            "FROM Comment c JOIN c.user u " +
+            "WHERE c.review.id = :reviewId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentThreadRow> findAllThreadRowsByReviewId(@Param("reviewId") Long reviewId);
+
+    /**
+     * Load an active comment and its active descendants down to the given depth
+     * with a recursive CTE (MySQL 8). The starting comment is at depth 0.
+     *
+     * @param commentId the ID of the comment the sub-thread starts at
+     * @param maxDepth  the deepest level to load
+     * @return the comments of the sub-thread in creation order
+     */
+    @Query(value = "WITH RECURSIVE thread (id, depth) AS (" +
+            "SELECT id, 0 FROM comments WHERE id = :commentId AND is_active = TRUE " +
+            "UNION ALL " +
+            "SELECT c.id, t.depth + 1 FROM comments c JOIN thread t ON c.parent_comment_id = t.id " +
+            "WHERE c.is_active = TRUE AND t.depth < :maxDepth) " +
+            "SELECT c.id AS id, c.parent_comment_id AS parentCommentId, c.review_id AS reviewId, " +
+            "c.content AS content, u.name AS userName, u.email AS userEmail, c.is_active AS isActive, " +
+            "c.created_at AS createdAt, c.deleted_at AS deletedAt " +
+            "FROM thread t JOIN comments c ON c.id = t.id JOIN users u ON u.id = c.user_id " +
+            "ORDER BY c.created_at ASC, c.id ASC", nativeQuery = true)
+    List<CommentThreadRow> findActiveSubThreadRows(@Param("commentId") Long commentId,
+            @Param("maxDepth") int maxDepth);
+
     /**
      * Count comments by review.
      *
@@ -123,6 +265,28 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.review.id = :reviewId AND c.isActive = true")
     long countActiveByReviewId(@Param("reviewId") Long reviewId);
 
+    /**
+     * Count active comments for multiple reviews in one grouped query.
+     * Reviews without active comments are absent from the result.
+     *
+     * @param reviewIds the review IDs
+     * @return a list of arrays containing [reviewId, commentCount]
+     */
+    @Query("SELECT c.review.id, COUNT(c) FROM Comment c WHERE c.review.id IN :reviewIds AND c.isActive = true " +
+            "GROUP BY c.review.id")
+    List<Object[]> countActiveCommentsByReviewIds(@Param("reviewIds") List<Long> reviewIds);
+
+    /**
+     * Count active replies for multiple comments in one grouped query.
+     * Comments without active replies are absent from the result.
+     *
+     * @param parentCommentIds the parent comment IDs
+     * @return a list of arrays containing [parentCommentId, replyCount]
+     */
+    @Query("SELECT c.parentComment.id, COUNT(c) FROM Comment c " +
+            "WHERE c.parentComment.id IN :parentCommentIds AND c.isActive = true GROUP BY c.parentComment.id")
+    List<Object[]> countActiveRepliesByParentIds(@Param("parentCommentIds") List<Long> parentCommentIds);
+
     /**
      * Count replies to a comment.
      *
@@ -169,4 +333,62 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Comment c " +
             "WHERE c.parentComment.id = :commentId AND c.isActive = true")
     boolean hasReplies(@Param("commentId") Long commentId);
+
+    /**
+     * Find the highest comment ID.
+     *
+     * @return the highest comment ID, or 0 if there are no comments
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Comment c")
+    long findMaxId();
+
+    /**
+     * Read active comments created since the given time in (created_at, id)
+     * order, one chunk after the given position. Served by
+     * idx_comments_created_at, whose implicit primary key column matches the
+     * ORDER BY, so each chunk is a range scan without a filesort; used to
+     * rebuild the trending index.
+     *
+     * @param afterCreatedAt the creation time of the last row of the previous
+     *                       chunk (the earliest time to include to start)
+     * @param afterId        the comment ID of the last row of the previous chunk
+     *                       (0 to start)
+     * @param maxId          the highest comment ID to include
+     * @param pageable       the chunk size (use PageRequest.of(0, size))
+     * @return a list of arrays containing [reviewId, commentId, createdAt]
+     */
+    @Query("SELECT c.review.id, c.id, c.createdAt FROM Comment c WHERE c.isActive = true AND c.id <= :maxId " +
+            "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt, c.id")
+    List<Object[]> findActiveCreatedSince(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("maxId") Long maxId,
+            Pageable pageable);
+
+    /**
+     * Soft delete the active comments of the given reviews in one statement.
+     * They get the same deletion time as their review, which tells them apart
+     * from comments deleted on their own when the review is restored.
+     *
+     * @param reviewIds the review IDs
+     * @param deletedAt the deletion time of the reviews
+     * @return the number of comments deleted
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.isActive = false, c.deletedAt = :deletedAt " +
+            "WHERE c.review.id IN :reviewIds AND c.isActive = true")
+    int softDeleteByReviewIds(@Param("reviewIds") Collection<Long> reviewIds,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Restore the comments that were soft deleted together with a review.
+     *
+     * @param reviewId  the review ID
+     * @param deletedAt the deletion time of the review
+     * @return the number of comments restored
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.isActive = true, c.deletedAt = NULL " +
+            "WHERE c.review.id = :reviewId AND c.isActive = false AND c.deletedAt = :deletedAt")
+    int restoreDeletedWithReview(@Param("reviewId") Long reviewId, @Param("deletedAt") LocalDateTime deletedAt);
 }
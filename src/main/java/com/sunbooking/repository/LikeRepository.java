@@ -1,5 +1,7 @@
 package com.sunbooking.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,11 +9,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sunbooking.entity.Like;
+import com.sunbooking.repository.projection.TimelineRow;
 
 /**
  * Repository interface for Like entity.
@@ -47,6 +51,26 @@ public interface LikeRepository extends JpaRepository<Like, Long>, JpaSpecificat
      */
     Page<Like> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Find likes of a user created before a position, newest first
+     * (keyset pagination). Used as one source of the user activity timeline.
+     *
+     * @param userId          the user ID
+     * @param beforeCreatedAt the creation time of the last row of the previous
+     *                        chunk
+     * @param beforeId        the ID of the last row of the previous chunk
+     * @param pageable        the chunk size (use PageRequest.of(0, size))
+     * @return the next timeline rows
+     */
+    @Query("SELECT l.id AS id, l.createdAt AS createdAt, r.id AS refId, r.title AS summary " +
+            "FROM Like l JOIN l.review r WHERE l.user.id = :userId " +
+            "AND (l.createdAt < :beforeCreatedAt OR (l.createdAt = :beforeCreatedAt AND l.id < :beforeId)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<TimelineRow> findTimelineRowsByUserId(@Param("userId") Long userId,
+            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
     /**
      * Find all likes for a review.
      *
@@ -81,6 +105,19 @@ public interface LikeRepository extends JpaRepository<Like, Long>, JpaSpecificat
      */
     void deleteByUserIdAndReviewId(Long userId, Long reviewId);
 
+    /**
+     * Delete a like by user and review with a single statement.
+     * The returned row count tells whether a like actually existed, which keeps
+     * counter maintenance correct under concurrent unlikes.
+     *
+     * @param userId   the user ID
+     * @param reviewId the review ID
+     * @return the number of likes deleted (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.review.id = :reviewId")
+    int deleteLike(@Param("userId") Long userId, @Param("reviewId") Long reviewId);
+
     /**
      * Find reviews liked by a user (ordered by most recent).
      *
@@ -119,4 +156,55 @@ public interface LikeRepository extends JpaRepository<Like, Long>, JpaSpecificat
      */
     @Query("SELECT l.review.id, COUNT(l) FROM Like l WHERE l.review.id IN :reviewIds GROUP BY l.review.id")
     List<Object[]> countLikesByReviewIds(@Param("reviewIds") List<Long> reviewIds);
+
+    /**
+     * Find the IDs of all reviews liked by a user, in ID order.
+     * Served by the uq_likes_user_review index without touching the table.
+     *
+     * @param userId   the user ID
+     * @param pageable the maximum number of IDs (use PageRequest.of(0, limit))
+     * @return a list of review IDs
+     */
+    @Query("SELECT l.review.id FROM Like l WHERE l.user.id = :userId ORDER BY l.review.id")
+    List<Long> findAllReviewIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Find which of the given reviews a user has liked.
+     *
+     * @param userId    the user ID
+     * @param reviewIds the review IDs to check
+     * @return the subset of review IDs liked by the user
+     */
+    @Query("SELECT l.review.id FROM Like l WHERE l.user.id = :userId AND l.review.id IN :reviewIds")
+    List<Long> findLikedReviewIdsIn(@Param("userId") Long userId, @Param("reviewIds") Collection<Long> reviewIds);
+
+    /**
+     * Find the highest like ID.
+     *
+     * @return the highest like ID, or 0 if there are no likes
+     */
+    @Query("SELECT COALESCE(MAX(l.id), 0) FROM Like l")
+    long findMaxId();
+
+    /**
+     * Read likes created since the given time in (created_at, id) order, one
+     * chunk after the given position. Served by idx_likes_created_at, whose
+     * implicit primary key column matches the ORDER BY, so each chunk is a
+     * range scan without a filesort; used to rebuild the trending index.
+     *
+     * @param afterCreatedAt the creation time of the last row of the previous
+     *                       chunk (the earliest time to include to start)
+     * @param afterId        the like ID of the last row of the previous chunk
+     *                       (0 to start)
+     * @param maxId          the highest like ID to include
+     * @param pageable       the chunk size (use PageRequest.of(0, size))
+     * @return a list of arrays containing [reviewId, likeId, createdAt]
+     */
+    @Query("SELECT l.review.id, l.id, l.createdAt FROM Like l WHERE l.id <= :maxId " +
+            "AND (l.createdAt > :afterCreatedAt OR (l.createdAt = :afterCreatedAt AND l.id > :afterId)) " +
+            "ORDER BY l.createdAt, l.id")
+    List<Object[]> findCreatedSince(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("maxId") Long maxId,
+            Pageable pageable);
 }
@@ -0,0 +1,62 @@
+package com.sunbooking.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sunbooking.entity.RefreshToken;
+
+/**
+ * Repository for API refresh tokens.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find a refresh token by the hash of its value, with its user.
+     *
+     * @param tokenHash the SHA-256 hex hash of the token
+     * @return the token, if any
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token used, unless it was used or revoked already. Of concurrent
+     * refreshes with the same token only one gets 1.
+     *
+     * @param id  the token ID
+     * @param now the current time
+     * @return 1 if this call used the token, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now " +
+            "WHERE t.id = :id AND t.usedAt IS NULL AND t.revokedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Revoke every token of a family.
+     *
+     * @param familyId the family ID
+     * @param now      the current time
+     * @return the number of tokens revoked
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete tokens that have expired.
+     *
+     * @param now the current time
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
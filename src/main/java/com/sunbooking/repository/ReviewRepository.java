@@ -1,17 +1,23 @@
 package com.sunbooking.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sunbooking.entity.CategoryType;
 import com.sunbooking.entity.Review;
+import com.sunbooking.repository.projection.ReviewSearchHit;
+import com.sunbooking.repository.projection.TimelineRow;
 
 /**
  * Repository interface for Review entity.
@@ -47,6 +53,26 @@ public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecif
          */
         Page<Review> findByUserId(Long userId, Pageable pageable);
 
+        /**
+         * Find reviews of a user created before a position, newest first
+         * (keyset pagination). Used as one source of the user activity timeline.
+         *
+         * @param userId          the user ID
+         * @param beforeCreatedAt the creation time of the last row of the previous
+         *                        chunk
+         * @param beforeId        the ID of the last row of the previous chunk
+         * @param pageable        the chunk size (use PageRequest.of(0, size))
+         * @return the next timeline rows
+         */
+        @Query("SELECT r.id AS id, r.createdAt AS createdAt, r.id AS refId, r.title AS summary " +
+                "FROM Review r WHERE r.user.id = :userId " +
+                "AND (r.createdAt < :beforeCreatedAt OR (r.createdAt = :beforeCreatedAt AND r.id < :beforeId)) " +
+                "ORDER BY r.createdAt DESC, r.id DESC")
+        List<TimelineRow> findTimelineRowsByUserId(@Param("userId") Long userId,
+                @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                @Param("beforeId") Long beforeId,
+                Pageable pageable);
+
         /**
          * Find active reviews by user.
          *
@@ -137,6 +163,62 @@ public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecif
                         "OR LOWER(r.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND r.isActive = true")
         Page<Review> searchActiveReviews(@Param("keyword") String keyword, Pageable pageable);
 
+        /**
+         * Full-text search of reviews by their title and content and by the
+         * content of their active comments (MySQL FULLTEXT indexes with the ngram parser).
+         * Rows must contain the keyword as a phrase; they are ranked by natural
+         * language relevance, with comment matches weighing half as much as
+         * matches in the review itself. Reviews by users whose name or email
+         * contains the keyword match as well, ranked last; this scans only the
+         * much smaller users table.
+         *
+         * @param keyword      the keyword, used for relevance
+         * @param phrase       the keyword as a quoted boolean-mode phrase, used to
+         *                     filter
+         * @param categoryType the category type name to filter on (null for all)
+         * @param isActive     the active status to filter on (null for all)
+         * @param pageable     pagination information (must be unsorted)
+         * @return a page of matching review IDs, most relevant first
+         */
+        @Query(value = "SELECT m.review_id AS reviewId, MAX(m.score) AS score FROM (" +
+                        "SELECT r.id AS review_id, " +
+                        "MATCH(r.title, r.content) AGAINST (:keyword IN NATURAL LANGUAGE MODE) AS score " +
+                        "FROM reviews r WHERE MATCH(r.title, r.content) AGAINST (:phrase IN BOOLEAN MODE) " +
+                        "UNION ALL " +
+                        "SELECT c.review_id, MATCH(c.content) AGAINST (:keyword IN NATURAL LANGUAGE MODE) * 0.5 " +
+                        "FROM comments c WHERE MATCH(c.content) AGAINST (:phrase IN BOOLEAN MODE) " +
+                        "AND c.is_active = TRUE " +
+                        "UNION ALL " +
+                        "SELECT r.id, 0 FROM users u JOIN reviews r ON r.user_id = u.id " +
+                        "WHERE u.name LIKE CONCAT('%', :keyword, '%') OR u.email LIKE CONCAT('%', :keyword, '%')" +
+                        ") m " +
+                        "JOIN reviews r ON r.id = m.review_id JOIN categories cat ON cat.id = r.category_id " +
+                        "WHERE (:categoryType IS NULL OR cat.type = :categoryType) " +
+                        "AND (:isActive IS NULL OR r.is_active = :isActive) " +
+                        "GROUP BY m.review_id ORDER BY score DESC, m.review_id DESC",
+                        countQuery = "SELECT COUNT(DISTINCT m.review_id) FROM (" +
+                                        "SELECT r.id AS review_id FROM reviews r " +
+                                        "WHERE MATCH(r.title, r.content) AGAINST (:phrase IN BOOLEAN MODE) " +
+                                        "UNION ALL " +
+                                        "SELECT c.review_id FROM comments c " +
+                                        "WHERE MATCH(c.content) AGAINST (:phrase IN BOOLEAN MODE) " +
+                                        "AND c.is_active = TRUE " +
+                                        "UNION ALL " +
+                                        "SELECT r.id FROM users u JOIN reviews r ON r.user_id = u.id " +
+                                        "WHERE u.name LIKE CONCAT('%', :keyword, '%') " +
+                                        "OR u.email LIKE CONCAT('%', :keyword, '%')" +
+                                        ") m " +
+                                        "JOIN reviews r ON r.id = m.review_id " +
+                                        "JOIN categories cat ON cat.id = r.category_id " +
+                                        "WHERE (:categoryType IS NULL OR cat.type = :categoryType) " +
+                                        "AND (:isActive IS NULL OR r.is_active = :isActive)",
+                        nativeQuery = true)
+        Page<ReviewSearchHit> searchFullText(@Param("keyword") String keyword,
+                        @Param("phrase") String phrase,
+                        @Param("categoryType") String categoryType,
+                        @Param("isActive") Boolean isActive,
+                        Pageable pageable);
+
         /**
          * Get review with comment count and like count.
          *
@@ -164,8 +246,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecif
          * @param pageable pagination information
          * @return a page of most liked reviews
          */
-        @Query("SELECT r FROM Review r LEFT JOIN r.likes l WHERE r.isActive = true " +
-                        "GROUP BY r.id ORDER BY COUNT(l) DESC")
+        @Query("SELECT r FROM Review r WHERE r.isActive = true ORDER BY r.likeCount DESC, r.id DESC")
         Page<Review> findMostLikedReviews(Pageable pageable);
 
         /**
@@ -216,4 +297,159 @@ public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecif
          * @return the number of reviews for the tour
          */
         long countByTourId(Long tourId);
+
+        /**
+         * Atomically add a delta to the active comment counter of a review.
+         * updated_at is assigned to itself so a comment does not count as an edit.
+         *
+         * @param reviewId the review ID
+         * @param delta    the amount to add (negative to subtract)
+         * @return the number of rows updated
+         */
+        @Modifying
+        @Query("UPDATE Review r SET r.commentCount = r.commentCount + :delta, r.updatedAt = r.updatedAt " +
+                        "WHERE r.id = :reviewId")
+        int adjustCommentCount(@Param("reviewId") Long reviewId, @Param("delta") int delta);
+
+        /**
+         * Find review IDs greater than the given ID, in ascending order.
+         * Used to walk the table in chunks for batch jobs.
+         *
+         * @param afterId  the last ID of the previous chunk (0 to start)
+         * @param pageable the chunk size (use PageRequest.of(0, size))
+         * @return the next chunk of review IDs
+         */
+        @Query("SELECT r.id FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+        List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+        /**
+         * Load the stored counters of the given reviews.
+         *
+         * @param reviewIds the review IDs
+         * @return a list of arrays containing [reviewId, likeCount, commentCount]
+         */
+        @Query("SELECT r.id, r.likeCount, r.commentCount FROM Review r WHERE r.id IN :reviewIds")
+        List<Object[]> findCountersByIds(@Param("reviewIds") List<Long> reviewIds);
+
+        /**
+         * Overwrite both counters of a review, but only if they still hold the
+         * values that were read before the actual counts were computed. A review
+         * liked or commented on in between is left alone and repaired on the next
+         * run instead of having a fresh increment overwritten.
+         *
+         * @param reviewId             the review ID
+         * @param expectedLikeCount    the like counter read earlier
+         * @param expectedCommentCount the comment counter read earlier
+         * @param likeCount            the actual number of likes
+         * @param commentCount         the actual number of active comments
+         * @return 1 if the counters were repaired, 0 if they changed meanwhile
+         */
+        @Modifying
+        @Query("UPDATE Review r SET r.likeCount = :likeCount, r.commentCount = :commentCount, " +
+                        "r.updatedAt = r.updatedAt " +
+                        "WHERE r.id = :reviewId AND r.likeCount = :expectedLikeCount " +
+                        "AND r.commentCount = :expectedCommentCount")
+        int repairCounters(@Param("reviewId") Long reviewId,
+                        @Param("expectedLikeCount") int expectedLikeCount,
+                        @Param("expectedCommentCount") int expectedCommentCount,
+                        @Param("likeCount") int likeCount,
+                        @Param("commentCount") int commentCount);
+
+        /**
+         * Find the category type of each of the given reviews that is active.
+         *
+         * @param reviewIds the review IDs
+         * @return a list of arrays containing [reviewId, categoryType]
+         */
+        @Query("SELECT r.id, c.type FROM Review r JOIN r.category c WHERE r.id IN :reviewIds AND r.isActive = true")
+        List<Object[]> findActiveCategoryTypesByIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+        /**
+         * Find active reviews by ID with their user and category fetched.
+         *
+         * @param reviewIds the review IDs
+         * @return the active reviews among the given IDs, in no particular order
+         */
+        @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.category " +
+                        "WHERE r.id IN :reviewIds AND r.isActive = true")
+        List<Review> findActiveWithUserAndCategoryByIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+        /**
+         * Find reviews by ID with their user, category and tour fetched.
+         *
+         * @param reviewIds the review IDs
+         * @return the reviews among the given IDs, in no particular order
+         */
+        @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.category LEFT JOIN FETCH r.tour " +
+                        "WHERE r.id IN :reviewIds")
+        List<Review> findWithAssociationsByIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+        /**
+         * Find which of the given reviews are active.
+         *
+         * @param reviewIds the review IDs
+         * @return the IDs of the active reviews among them
+         */
+        @Query("SELECT r.id FROM Review r WHERE r.id IN :reviewIds AND r.isActive = true")
+        List<Long> findActiveIdsIn(@Param("reviewIds") Collection<Long> reviewIds);
+
+        /**
+         * Find IDs of active reviews by a user, after the given ID in ascending
+         * order. Used to walk a user's reviews in chunks for bulk moderation.
+         *
+         * @param userId   the user ID
+         * @param afterId  the last ID of the previous chunk (0 to start)
+         * @param pageable the chunk size (use PageRequest.of(0, size))
+         * @return the next chunk of review IDs
+         */
+        @Query("SELECT r.id FROM Review r WHERE r.user.id = :userId AND r.isActive = true AND r.id > :afterId " +
+                        "ORDER BY r.id")
+        List<Long> findActiveIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        /**
+         * Find IDs of active reviews whose title or content contains the keyword,
+         * after the given ID in ascending order (case-insensitive LIKE).
+         *
+         * @param keyword  the keyword
+         * @param afterId  the last ID of the previous chunk (0 to start)
+         * @param pageable the chunk size (use PageRequest.of(0, size))
+         * @return the next chunk of review IDs
+         */
+        @Query("SELECT r.id FROM Review r WHERE r.isActive = true AND r.id > :afterId " +
+                        "AND (LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                        "OR LOWER(r.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) ORDER BY r.id")
+        List<Long> findActiveIdsByKeywordAfter(@Param("keyword") String keyword, @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        /**
+         * Find IDs of active reviews whose title or content contains the phrase,
+         * after the given ID in ascending order, using the FULLTEXT index.
+         *
+         * @param phrase  the keyword as a quoted boolean-mode phrase
+         * @param afterId the last ID of the previous chunk (0 to start)
+         * @param limit   the chunk size
+         * @return the next chunk of review IDs
+         */
+        @Query(value = "SELECT r.id FROM reviews r " +
+                        "WHERE MATCH(r.title, r.content) AGAINST (:phrase IN BOOLEAN MODE) " +
+                        "AND r.is_active = TRUE AND r.id > :afterId ORDER BY r.id LIMIT :limit",
+                        nativeQuery = true)
+        List<Number> findActiveIdsByFullTextAfter(@Param("phrase") String phrase, @Param("afterId") Long afterId,
+                        @Param("limit") int limit);
+
+        /**
+         * Soft delete the active reviews among the given IDs in one statement.
+         * Their comment counters are reset, since their comments are soft
+         * deleted with them.
+         *
+         * @param reviewIds the review IDs
+         * @param deletedAt the deletion time
+         * @return the number of reviews deleted
+         */
+        @Modifying
+        @Query("UPDATE Review r SET r.isActive = false, r.deletedAt = :deletedAt, r.commentCount = 0 " +
+                        "WHERE r.id IN :reviewIds AND r.isActive = true")
+        int softDeleteByIds(@Param("reviewIds") Collection<Long> reviewIds,
+                        @Param("deletedAt") LocalDateTime deletedAt);
 }
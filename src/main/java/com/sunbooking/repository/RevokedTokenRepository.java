@@ -0,0 +1,37 @@
+package com.sunbooking.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sunbooking.entity.RevokedToken;
+
+/**
+ * Repository for revoked API tokens.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find revocations of tokens that have not expired yet.
+     *
+     * @param now the current time
+     * @return the revocations still in effect
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Delete revocations of tokens that have expired anyway.
+     *
+     * @param now the current time
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,58 @@
+package com.sunbooking.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.entity.TourImage;
+
+/**
+ * Repository interface for TourImage entity.
+ * Provides CRUD operations and custom query methods for tour photos.
+ */
+@Repository
+public interface TourImageRepository extends JpaRepository<TourImage, Long> {
+
+    /**
+     * Find all images of a tour in upload order.
+     *
+     * @param tourId the tour ID
+     * @return a list of images for the tour
+     */
+    List<TourImage> findByTourIdOrderByIdAsc(Long tourId);
+
+    /**
+     * Find the first uploaded image (cover) of each of the given tours in one
+     * grouped query.
+     *
+     * @param tourIds the tour IDs
+     * @return a list of arrays containing [tourId, imageId]
+     */
+    @Query("SELECT i.tour.id, MIN(i.id) FROM TourImage i WHERE i.tour.id IN :tourIds GROUP BY i.tour.id")
+    List<Object[]> findCoverImageIdsByTourIds(@Param("tourIds") Collection<Long> tourIds);
+
+    /**
+     * Find IDs of images whose thumbnail has not been generated yet.
+     *
+     * @return a list of image IDs waiting for a thumbnail
+     */
+    @Query("SELECT i.id FROM TourImage i WHERE i.thumbnailReady = false ORDER BY i.id")
+    List<Long> findIdsWithPendingThumbnail();
+
+    /**
+     * Mark the thumbnail of an image as generated.
+     *
+     * @param id the image ID
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TourImage i SET i.thumbnailReady = true WHERE i.id = :id")
+    int markThumbnailReady(@Param("id") Long id);
+}
@@ -12,6 +12,8 @@ import org.springframework.stereotype.Repository;
 
 import com.sunbooking.entity.User;
 import com.sunbooking.entity.UserRole;
+import com.sunbooking.repository.projection.UserSecurityRow;
+import com.sunbooking.repository.projection.UserStatsRow;
 
 /**
  * Repository interface for User entity.
@@ -46,6 +48,15 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Load the fields a user's security stamp is derived from.
+     *
+     * @param id the user ID
+     * @return password hash, role and active flag, if the user exists
+     */
+    @Query("SELECT u.password AS password, u.role AS role, u.isActive AS isActive FROM User u WHERE u.id = :id")
+    Optional<UserSecurityRow> findSecurityRowById(@Param("id") Long id);
+
     /**
      * Find all users by role.
      *
@@ -123,4 +134,20 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      * @return the number of users with the specified active status
      */
     long countByIsActive(Boolean isActive);
+
+    /**
+     * Count the bookings, reviews, comments and likes of a user with one
+     * statement. Each scalar subquery is an index-only count on the table's
+     * user_id index, so no rows are loaded into the persistence context.
+     * Soft-deleted reviews and comments are included.
+     *
+     * @param userId the user ID
+     * @return the counters of the user
+     */
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM bookings b WHERE b.user_id = :userId) AS totalBookings, " +
+            "(SELECT COUNT(*) FROM reviews r WHERE r.user_id = :userId) AS totalReviews, " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.user_id = :userId) AS totalComments, " +
+            "(SELECT COUNT(*) FROM likes l WHERE l.user_id = :userId) AS totalLikes", nativeQuery = true)
+    UserStatsRow findStatsByUserId(@Param("userId") Long userId);
 }
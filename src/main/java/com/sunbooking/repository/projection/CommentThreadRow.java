@@ -0,0 +1,30 @@
+package com.sunbooking.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a comment used to assemble comment threads.
+ * Carries the parent ID and the author's name and email so that a whole
+ * thread can be read in a single query without loading entities or their
+ * lazy associations.
+ */
+public interface CommentThreadRow {
+
+    Long getId();
+
+    Long getParentCommentId();
+
+    Long getReviewId();
+
+    String getContent();
+
+    String getUserName();
+
+    String getUserEmail();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,11 @@
+package com.sunbooking.repository.projection;
+
+/**
+ * A review matched by a full-text search together with its relevance.
+ */
+public interface ReviewSearchHit {
+
+    Long getReviewId();
+
+    Double getScore();
+}
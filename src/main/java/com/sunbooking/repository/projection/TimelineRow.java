@@ -0,0 +1,21 @@
+package com.sunbooking.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a user's activity timeline (a booking, review, comment or
+ * like), read without loading the entity.
+ */
+public interface TimelineRow {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    /**
+     * The tour of a booking, or the review of a review, comment or like.
+     */
+    Long getRefId();
+
+    String getSummary();
+}
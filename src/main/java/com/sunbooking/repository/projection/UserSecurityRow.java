@@ -0,0 +1,15 @@
+package com.sunbooking.repository.projection;
+
+import com.sunbooking.entity.UserRole;
+
+/**
+ * The fields of a user that decide whether their issued tokens still hold.
+ */
+public interface UserSecurityRow {
+
+    String getPassword();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+}
@@ -0,0 +1,15 @@
+package com.sunbooking.repository.projection;
+
+/**
+ * Activity counters of one user, read with a single statement.
+ */
+public interface UserStatsRow {
+
+    Long getTotalBookings();
+
+    Long getTotalReviews();
+
+    Long getTotalComments();
+
+    Long getTotalLikes();
+}
@@ -0,0 +1,180 @@
+package com.sunbooking.security;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remember-me token store over persistent_logins with a read cache.
+ *
+ * Writes go to the database and then to a Caffeine cache keyed by series,
+ * so the auto-logins of a series (one per expired admin session) skip the
+ * SELECT. The cache belongs to one node and may lag behind another node:
+ * callers comparing a presented token call {@link #evictIfDifferent} first,
+ * so a rotation made elsewhere is re-read instead of being taken for cookie
+ * theft, and every rotation updates the row only if it still holds the
+ * cached token. A series removed or rotated by another node (logout, purge,
+ * theft) therefore fails its next rotation and the auto-login is rejected.
+ * Rows unused for longer than the token validity are purged nightly in
+ * bounded batches, using the last_used index.
+ *
+ * @author Sun Booking Team
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@Slf4j
+public class CachingPersistentTokenRepository implements PersistentTokenRepository {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${remember-me.token-validity:14d}")
+    private Duration tokenValidity;
+
+    @Value("${remember-me.token-cache.ttl:12h}")
+    private Duration cacheTtl;
+
+    @Value("${remember-me.token-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${remember-me.purge.chunk-size:500}")
+    private int purgeChunkSize;
+
+    private JdbcTokenRepositoryImpl delegate;
+
+    private Cache<String, PersistentRememberMeToken> tokens;
+
+    @PostConstruct
+    void init() {
+        delegate = new JdbcTokenRepositoryImpl();
+        delegate.setDataSource(dataSource);
+        // Set create table on startup to false since Flyway handles schema
+        delegate.setCreateTableOnStartup(false);
+        delegate.afterPropertiesSet();
+
+        tokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    public void createNewToken(PersistentRememberMeToken token) {
+        delegate.createNewToken(token);
+        tokens.put(token.getSeries(), token);
+    }
+
+    /**
+     * Rotate the token of a series.
+     *
+     * @throws RememberMeAuthenticationException if the row is gone or no
+     *                                           longer holds the cached token,
+     *                                           which rejects the auto-login
+     */
+    @Override
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        PersistentRememberMeToken cached = tokens.getIfPresent(series);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("series", series)
+                .addValue("token", tokenValue)
+                .addValue("lastUsed", new Timestamp(lastUsed.getTime()));
+        String sql = "UPDATE persistent_logins SET token = :token, last_used = :lastUsed WHERE series = :series";
+        if (cached != null) {
+            sql += " AND token = :expected";
+            params.addValue("expected", cached.getTokenValue());
+        }
+
+        if (jdbcTemplate.update(sql, params) == 0) {
+            tokens.invalidate(series);
+            throw new RememberMeAuthenticationException("Remember-me series was removed or rotated elsewhere");
+        }
+        tokens.asMap().computeIfPresent(series,
+                (key, token) -> new PersistentRememberMeToken(token.getUsername(), series, tokenValue, lastUsed));
+    }
+
+    @Override
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
+        // Unknown series are not cached; the mapping returns null for them
+        return tokens.get(seriesId, delegate::getTokenForSeries);
+    }
+
+    @Override
+    public void removeUserTokens(String username) {
+        delegate.removeUserTokens(username);
+        tokens.asMap().values().removeIf(token -> token.getUsername().equals(username));
+    }
+
+    /**
+     * Drop the cached token of a series if it is not the presented one, so
+     * the next lookup reads the database.
+     *
+     * @param series     the series of the cookie
+     * @param tokenValue the token value of the cookie
+     */
+    public void evictIfDifferent(String series, String tokenValue) {
+        tokens.asMap().computeIfPresent(series,
+                (key, token) -> token.getTokenValue().equals(tokenValue) ? token : null);
+    }
+
+    /**
+     * Get the validity of remember-me tokens since their last use.
+     *
+     * @return the token validity
+     */
+    public Duration getTokenValidity() {
+        return tokenValidity;
+    }
+
+    /**
+     * Delete the tokens unused for longer than their validity.
+     * Each batch selects the oldest rows by last_used and deletes them by
+     * series in its own statement, so no statement locks many rows.
+     */
+    @Scheduled(cron = "${remember-me.purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(Instant.now().minus(tokenValidity)))
+                .addValue("limit", purgeChunkSize);
+        int deleted = 0;
+        while (true) {
+            List<String> series = jdbcTemplate.queryForList(
+                    "SELECT series FROM persistent_logins WHERE last_used < :cutoff ORDER BY last_used LIMIT :limit",
+                    params, String.class);
+            if (series.isEmpty()) {
+                break;
+            }
+            deleted += jdbcTemplate.update("DELETE FROM persistent_logins WHERE series IN (:series)",
+                    new MapSqlParameterSource("series", series));
+            tokens.invalidateAll(series);
+            if (series.size() < purgeChunkSize) {
+                break;
+            }
+        }
+        log.info("Purged {} expired remember-me tokens", deleted);
+    }
+}
@@ -10,6 +10,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,6 +18,7 @@ import org.springframework.security.web.authentication.SimpleUrlAuthenticationFa
 import org.springframework.stereotype.Component;
 
 import com.sunbooking.exception.AccountBlockedException;
+import com.sunbooking.exception.ServiceUnavailableException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -64,23 +66,33 @@ public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationF
     public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
             AuthenticationException exception) throws IOException, ServletException {
 
-        String ipAddress = getClientIP(request);
+        String ipAddress = LoginAttemptService.getClientIP(request);
         String username = request.getParameter("username");
         Locale locale = request.getLocale();
 
+        // Password hashing was shed under load; not a failed attempt
+        if (exception instanceof InternalAuthenticationServiceException
+                && exception.getCause() instanceof ServiceUnavailableException) {
+            log.warn("Login from IP: {} shed, password hashing is saturated", ipAddress);
+            request.getSession().setAttribute("authenticationError",
+                    messageSource.getMessage("login.error.busy", null, locale));
+            getRedirectStrategy().sendRedirect(request, response, "/admin/login?error=busy");
+            return;
+        }
+
         log.warn("Failed login attempt from IP: {} for user: {}", ipAddress, username);
 
         // Record failed attempt
-        loginAttemptService.recordFailedAttempt(ipAddress);
+        loginAttemptService.recordFailedAttempt(ipAddress, username);
 
-        // Check if IP is blocked
-        if (loginAttemptService.isBlocked(ipAddress)) {
-            handleBlockedAttempt(request, response, ipAddress, locale);
+        // Check if IP or username is blocked
+        if (loginAttemptService.isBlocked(ipAddress, username)) {
+            handleBlockedAttempt(request, response, ipAddress, username, locale);
             return;
         }
 
         // Handle different types of authentication failures
-        String errorMessage = getLocalizedErrorMessage(exception, ipAddress, locale);
+        String errorMessage = getLocalizedErrorMessage(exception, ipAddress, username, locale);
         String errorType = getErrorType(exception);
 
         // Store error message in session
@@ -97,14 +109,15 @@ public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationF
      * 
      * @param request   the HTTP request
      * @param response  the HTTP response
-     * @param ipAddress the blocked IP address
+     * @param ipAddress the IP address
+     * @param username  the username tried
      * @param locale    the user's locale
      * @throws IOException if redirect fails
      */
     private void handleBlockedAttempt(HttpServletRequest request, HttpServletResponse response,
-            String ipAddress, Locale locale) throws IOException {
+            String ipAddress, String username, Locale locale) throws IOException {
 
-        long remainingMinutes = loginAttemptService.getRemainingLockoutMinutes(ipAddress);
+        long remainingMinutes = loginAttemptService.getRemainingLockoutMinutes(ipAddress, username);
 
         log.warn("Blocked login attempt from IP: {} (blocked for {} more minutes)",
                 ipAddress, remainingMinutes);
@@ -125,11 +138,12 @@ public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationF
      * 
      * @param exception the authentication exception
      * @param ipAddress the IP address
+     * @param username  the username tried
      * @param locale    the user's locale
      * @return localized error message
      */
     private String getLocalizedErrorMessage(AuthenticationException exception,
-            String ipAddress, Locale locale) {
+            String ipAddress, String username, Locale locale) {
 
         // Account blocked by rate limiting
         if (exception instanceof AccountBlockedException) {
@@ -154,7 +168,7 @@ public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationF
         if (exception instanceof UsernameNotFoundException ||
                 exception instanceof BadCredentialsException) {
 
-            int remainingAttempts = loginAttemptService.getRemainingAttempts(ipAddress);
+            int remainingAttempts = loginAttemptService.getRemainingAttempts(ipAddress, username);
 
             // If there are remaining attempts, show them
             if (remainingAttempts > 0) {
@@ -193,22 +207,4 @@ public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationF
         }
         return "general";
     }
-
-    /**
-     * Get the client's IP address from the request.
-     * 
-     * Checks X-Forwarded-For header first (for proxies/load balancers),
-     * then falls back to remote address.
-     * 
-     * @param request the HTTP request
-     * @return the client IP address
-     */
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
-        }
-        // X-Forwarded-For can contain multiple IPs, take the first one
-        return xfHeader.split(",")[0].trim();
-    }
 }
@@ -42,29 +42,15 @@ public class CustomAuthenticationSuccessHandler extends SavedRequestAwareAuthent
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
             Authentication authentication) throws IOException, ServletException {
 
-        String ipAddress = getClientIP(request);
+        String ipAddress = LoginAttemptService.getClientIP(request);
         String username = authentication.getName();
 
         log.info("Successful login from IP: {} for user: {}", ipAddress, username);
 
-        // Reset failed attempts for this IP
-        loginAttemptService.resetFailedAttempts(ipAddress);
+        // Reset failed attempts for this IP and username
+        loginAttemptService.resetFailedAttempts(ipAddress, request.getParameter("username"));
 
         // Call parent handler to perform redirect
         super.onAuthenticationSuccess(request, response, authentication);
     }
-
-    /**
-     * Get the client's IP address from the request.
-     * 
-     * @param request the HTTP request
-     * @return the client IP address
-     */
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0].trim();
-    }
 }
@@ -3,6 +3,7 @@ package com.sunbooking.security;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -102,6 +103,18 @@ public class CustomUserDetails implements UserDetails {
         return user.getName();
     }
 
+    /**
+     * Sessions are serialized into the database, so the user is written as a
+     * copy without its password hash and lazy relationships.
+     *
+     * @return the details to serialize in place of this one
+     */
+    private Object writeReplace() {
+        User copy = new User();
+        BeanUtils.copyProperties(user, copy, "password", "bookings", "reviews", "comments", "likes");
+        return new CustomUserDetails(copy);
+    }
+
     /**
      * Check if the user has admin role.
      * 
@@ -5,6 +5,7 @@ import java.util.Locale;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.sunbooking.entity.User;
 import com.sunbooking.repository.UserRepository;
+import com.sunbooking.security.jwt.SecurityStampCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,20 +26,26 @@ import lombok.extern.slf4j.Slf4j;
  * email and wraps it in a CustomUserDetails object. All exception messages
  * are internationalized using Spring's MessageSource.
  * 
+ * It also stores password hashes upgraded at login, when the configured
+ * BCrypt strength is higher than the strength of the stored hash.
+ * 
  * @author Sun Booking Team
  * @version 1.0
  * @since 2025-11-12
  */
 @Service
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final MessageSource messageSource;
+    private final SecurityStampCache securityStampCache;
 
-    public CustomUserDetailsService(UserRepository userRepository, MessageSource messageSource) {
+    public CustomUserDetailsService(UserRepository userRepository, MessageSource messageSource,
+            SecurityStampCache securityStampCache) {
         this.userRepository = userRepository;
         this.messageSource = messageSource;
+        this.securityStampCache = securityStampCache;
     }
 
     /**
@@ -127,4 +135,29 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Store the rehashed password of a user who just logged in.
+     * 
+     * Called by Spring Security after a successful login when the stored hash
+     * needs upgrading. The password itself is unchanged, but the security
+     * stamp is derived from the hash, so tokens issued before the upgrade stop
+     * being accepted once.
+     * 
+     * @param user        the authenticated user details
+     * @param newPassword the new password hash
+     * @return the user details with the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = ((CustomUserDetails) user).getUser();
+        User stored = userRepository.findById(entity.getId()).orElse(entity);
+        stored.setPassword(newPassword);
+        userRepository.save(stored);
+        securityStampCache.evict(stored.getId());
+
+        log.info("Upgraded password hash of user ID: {}", stored.getId());
+        return new CustomUserDetails(stored);
+    }
 }
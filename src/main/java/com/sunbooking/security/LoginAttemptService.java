@@ -1,33 +1,47 @@
 package com.sunbooking.security;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Custom authentication failure handler with rate limiting.
  * 
- * This handler tracks failed login attempts per IP address and implements
- * rate limiting to prevent brute force attacks. After a configurable number
- * of failed attempts, the IP address is temporarily blocked.
+ * This handler tracks failed login attempts per IP address and per username
+ * and implements rate limiting to prevent brute force attacks. After a
+ * configurable number of failed attempts within the sliding window, the IP
+ * address or username is temporarily blocked.
  * 
  * Features:
- * - Tracks failed login attempts per IP address
- * - Blocks IP after max failed attempts
- * - Auto-unblocks after lockout duration
- * - Provides informative error messages
+ * - Tracks failed login attempts per IP address and per username
+ * - Counts attempts in a sliding window split into fifteen buckets
+ * - Bounded stores: the least valuable entries are evicted past the cap
+ * - Entries expire in the background once their window has passed
+ * - Constant-time statistics counters
  * - Logs security events
  * 
  * @author Sun Booking Team
@@ -38,14 +52,50 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
 
-    // Maximum failed login attempts before blocking
+    // Maximum failed login attempts per IP before blocking
     private static final int MAX_ATTEMPTS = 5;
 
-    // Lockout duration in minutes
+    // Maximum failed login attempts per username before blocking
+    private static final int MAX_USERNAME_ATTEMPTS = 10;
+
+    // Lockout duration (sliding window length) in minutes
     private static final int LOCKOUT_DURATION_MINUTES = 15;
 
-    // Store failed attempts: IP -> AttemptInfo
-    private final Map<String, AttemptInfo> attemptsCache = new ConcurrentHashMap<>();
+    // Maximum number of IPs and of usernames tracked at once
+    private static final long MAX_TRACKED = 100_000;
+
+    // Number of buckets the sliding window is split into
+    private static final int BUCKETS = 15;
+
+    private final Ticker ticker;
+    private final long bucketNanos;
+    private final int lockoutDurationMinutes;
+    private final Dimension ipAttempts;
+    private final Dimension usernameAttempts;
+
+    private final LongAdder failedAttempts = new LongAdder();
+
+    public LoginAttemptService() {
+        this(MAX_ATTEMPTS, MAX_USERNAME_ATTEMPTS, Duration.ofMinutes(LOCKOUT_DURATION_MINUTES), MAX_TRACKED,
+                Ticker.systemTicker());
+    }
+
+    @Autowired
+    public LoginAttemptService(@Value("${login.attempt.max-attempts:5}") int maxAttempts,
+            @Value("${login.attempt.username.max-attempts:10}") int maxUsernameAttempts,
+            @Value("${login.attempt.window:15m}") Duration window,
+            @Value("${login.attempt.max-tracked:100000}") long maxTracked) {
+        this(maxAttempts, maxUsernameAttempts, window, maxTracked, Ticker.systemTicker());
+    }
+
+    LoginAttemptService(int maxAttempts, int maxUsernameAttempts, Duration window, long maxTracked,
+            Ticker ticker) {
+        this.ticker = ticker;
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.lockoutDurationMinutes = (int) window.toMinutes();
+        this.ipAttempts = new Dimension(maxAttempts, window, maxTracked, ticker);
+        this.usernameAttempts = new Dimension(maxUsernameAttempts, window, maxTracked, ticker);
+    }
 
     /**
      * Handle authentication failure.
@@ -66,12 +116,11 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
         log.warn("Failed login attempt from IP: {} for user: {}", ipAddress, username);
 
         // Record failed attempt
-        recordFailedAttempt(ipAddress);
+        recordFailedAttempt(ipAddress, username);
 
-        // Check if IP is blocked
-        if (isBlocked(ipAddress)) {
-            AttemptInfo attemptInfo = attemptsCache.get(ipAddress);
-            long remainingMinutes = getRemainingLockoutTime(attemptInfo);
+        // Check if IP or username is blocked
+        if (isBlocked(ipAddress, username)) {
+            long remainingMinutes = getRemainingLockoutMinutes(ipAddress, username);
 
             log.warn("Blocked login attempt from IP: {} (blocked for {} more minutes)", ipAddress, remainingMinutes);
 
@@ -86,7 +135,7 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
         }
 
         // Get remaining attempts
-        int remainingAttempts = getRemainingAttempts(ipAddress);
+        int remainingAttempts = getRemainingAttempts(ipAddress, username);
 
         // Set error message with remaining attempts
         String errorMessage = exception.getMessage();
@@ -106,19 +155,23 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      * @param ipAddress the IP address
      */
     public void recordFailedAttempt(String ipAddress) {
-        attemptsCache.compute(ipAddress, (key, attemptInfo) -> {
-            if (attemptInfo == null) {
-                return new AttemptInfo(1, System.currentTimeMillis());
-            }
-
-            // If lockout has expired, reset counter
-            if (isLockoutExpired(attemptInfo)) {
-                return new AttemptInfo(1, System.currentTimeMillis());
-            }
+        recordFailedAttempt(ipAddress, null);
+    }
 
-            // Increment counter
-            return new AttemptInfo(attemptInfo.attempts + 1, attemptInfo.lastAttemptTime);
-        });
+    /**
+     * Record a failed login attempt for the given IP address and username.
+     * 
+     * @param ipAddress the IP address
+     * @param username  the username tried, or null if unknown
+     */
+    public void recordFailedAttempt(String ipAddress, String username) {
+        long bucket = currentBucket();
+        failedAttempts.increment();
+        ipAttempts.recordFailure(ipAddress, bucket);
+        String key = usernameKey(username);
+        if (key != null) {
+            usernameAttempts.recordFailure(key, bucket);
+        }
     }
 
     /**
@@ -127,7 +180,22 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      * @param ipAddress the IP address
      */
     public void resetFailedAttempts(String ipAddress) {
-        attemptsCache.remove(ipAddress);
+        resetFailedAttempts(ipAddress, null);
+    }
+
+    /**
+     * Reset failed attempts for the given IP address and username (called on
+     * successful login).
+     * 
+     * @param ipAddress the IP address
+     * @param username  the username logged in with, or null if unknown
+     */
+    public void resetFailedAttempts(String ipAddress, String username) {
+        ipAttempts.reset(ipAddress);
+        String key = usernameKey(username);
+        if (key != null) {
+            usernameAttempts.reset(key);
+        }
         log.debug("Reset failed attempts for IP: {}", ipAddress);
     }
 
@@ -138,18 +206,21 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      * @return true if blocked, false otherwise
      */
     public boolean isBlocked(String ipAddress) {
-        AttemptInfo attemptInfo = attemptsCache.get(ipAddress);
-        if (attemptInfo == null) {
-            return false;
-        }
-
-        // If lockout has expired, remove from cache
-        if (isLockoutExpired(attemptInfo)) {
-            attemptsCache.remove(ipAddress);
-            return false;
-        }
+        return ipAttempts.isBlocked(ipAddress, currentBucket());
+    }
 
-        return attemptInfo.attempts >= MAX_ATTEMPTS;
+    /**
+     * Check if the IP address or the username is currently blocked.
+     * 
+     * @param ipAddress the IP address
+     * @param username  the username tried, or null if unknown
+     * @return true if either is blocked, false otherwise
+     */
+    public boolean isBlocked(String ipAddress, String username) {
+        long bucket = currentBucket();
+        String key = usernameKey(username);
+        return ipAttempts.isBlocked(ipAddress, bucket)
+                || (key != null && usernameAttempts.isBlocked(key, bucket));
     }
 
     /**
@@ -159,11 +230,25 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      * @return number of remaining attempts
      */
     public int getRemainingAttempts(String ipAddress) {
-        AttemptInfo attemptInfo = attemptsCache.get(ipAddress);
-        if (attemptInfo == null || isLockoutExpired(attemptInfo)) {
-            return MAX_ATTEMPTS;
+        return ipAttempts.remainingAttempts(ipAddress, currentBucket());
+    }
+
+    /**
+     * Get remaining attempts before the IP address or the username is locked
+     * out, whichever comes first.
+     * 
+     * @param ipAddress the IP address
+     * @param username  the username tried, or null if unknown
+     * @return number of remaining attempts
+     */
+    public int getRemainingAttempts(String ipAddress, String username) {
+        long bucket = currentBucket();
+        int remaining = ipAttempts.remainingAttempts(ipAddress, bucket);
+        String key = usernameKey(username);
+        if (key != null) {
+            remaining = Math.min(remaining, usernameAttempts.remainingAttempts(key, bucket));
         }
-        return Math.max(0, MAX_ATTEMPTS - attemptInfo.attempts);
+        return remaining;
     }
 
     /**
@@ -173,64 +258,232 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      * @return remaining minutes of lockout, or 0 if not blocked
      */
     public long getRemainingLockoutMinutes(String ipAddress) {
-        AttemptInfo attemptInfo = attemptsCache.get(ipAddress);
-        if (attemptInfo == null || !isBlocked(ipAddress)) {
-            return 0;
-        }
-        return getRemainingLockoutTime(attemptInfo);
+        return toMinutes(ipAttempts.remainingLockoutNanos(ipAddress, ticker.read(), bucketNanos));
     }
 
     /**
-     * Get remaining lockout time in minutes.
+     * Get remaining lockout time in minutes for an IP address and username.
      * 
-     * @param attemptInfo the attempt information
-     * @return remaining minutes of lockout
+     * @param ipAddress the IP address
+     * @param username  the username tried, or null if unknown
+     * @return remaining minutes of lockout, or 0 if neither is blocked
      */
-    private long getRemainingLockoutTime(AttemptInfo attemptInfo) {
-        long elapsedTime = System.currentTimeMillis() - attemptInfo.lastAttemptTime;
-        long remainingTime = TimeUnit.MINUTES.toMillis(LOCKOUT_DURATION_MINUTES) - elapsedTime;
-        return TimeUnit.MILLISECONDS.toMinutes(remainingTime) + 1; // Add 1 to round up
+    public long getRemainingLockoutMinutes(String ipAddress, String username) {
+        return toMinutes(remainingLockoutNanos(ipAddress, username));
     }
 
     /**
-     * Check if the lockout period has expired.
+     * Get remaining lockout time for an IP address and username.
      * 
-     * @param attemptInfo the attempt information
-     * @return true if lockout has expired, false otherwise
+     * @param ipAddress the IP address
+     * @param username  the username tried, or null if unknown
+     * @return time until both are unblocked, or zero if neither is blocked
      */
-    private boolean isLockoutExpired(AttemptInfo attemptInfo) {
-        long elapsedTime = System.currentTimeMillis() - attemptInfo.lastAttemptTime;
-        return elapsedTime > TimeUnit.MINUTES.toMillis(LOCKOUT_DURATION_MINUTES);
+    public Duration getRemainingLockout(String ipAddress, String username) {
+        return Duration.ofNanos(remainingLockoutNanos(ipAddress, username));
+    }
+
+    private long remainingLockoutNanos(String ipAddress, String username) {
+        long now = ticker.read();
+        long remaining = ipAttempts.remainingLockoutNanos(ipAddress, now, bucketNanos);
+        String key = usernameKey(username);
+        if (key != null) {
+            remaining = Math.max(remaining, usernameAttempts.remainingLockoutNanos(key, now, bucketNanos));
+        }
+        return remaining;
+    }
+
+    private static long toMinutes(long nanos) {
+        return nanos > 0 ? TimeUnit.NANOSECONDS.toMinutes(nanos) + 1 : 0; // Add 1 to round up
+    }
+
+    private long currentBucket() {
+        return ticker.read() / bucketNanos;
+    }
+
+    private static String usernameKey(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        return username.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
      * Get the client's IP address from the request.
      * 
-     * Checks X-Forwarded-For header first (for proxies/load balancers),
-     * then falls back to remote address.
+     * The X-Forwarded-For header is not read: a client could send a new value
+     * on every attempt and never reach the IP limit. Behind a proxy the servlet
+     * container resolves the remote address from trusted proxies only.
      * 
      * @param request the HTTP request
      * @return the client IP address
      */
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
+    public static String getClientIP(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Failed attempts of one kind of key (IP address or username), in a
+     * bounded cache. Entries expire once no failure was recorded for a whole
+     * window, by then they can no longer block anything.
+     */
+    private static final class Dimension {
+
+        private final int maxAttempts;
+        private final Cache<String, SlidingWindow> windows;
+        private final AtomicLong blocked = new AtomicLong();
+        private final LongAdder evictions = new LongAdder();
+
+        Dimension(int maxAttempts, Duration window, long maxTracked, Ticker ticker) {
+            this.maxAttempts = maxAttempts;
+            this.windows = Caffeine.newBuilder()
+                    .maximumSize(maxTracked)
+                    .expireAfterWrite(window)
+                    .ticker(ticker)
+                    .scheduler(Scheduler.systemScheduler())
+                    .removalListener((String key, SlidingWindow attempts, RemovalCause cause) -> {
+                        if (cause == RemovalCause.REPLACED || attempts == null) {
+                            return;
+                        }
+                        if (attempts.clearBlocked()) {
+                            blocked.decrementAndGet();
+                        }
+                        if (cause == RemovalCause.SIZE) {
+                            evictions.increment();
+                        }
+                    })
+                    .build();
+        }
+
+        void recordFailure(String key, long bucket) {
+            windows.asMap().compute(key, (k, attempts) -> {
+                SlidingWindow window = attempts != null ? attempts : new SlidingWindow();
+                if (window.add(bucket, maxAttempts)) {
+                    blocked.incrementAndGet();
+                }
+                return window;
+            });
+        }
+
+        boolean isBlocked(String key, long bucket) {
+            SlidingWindow window = windows.getIfPresent(key);
+            if (window == null) {
+                return false;
+            }
+            if (window.unblockIfBelow(bucket, maxAttempts)) {
+                blocked.decrementAndGet();
+            }
+            return window.count(bucket) >= maxAttempts;
+        }
+
+        int remainingAttempts(String key, long bucket) {
+            SlidingWindow window = windows.getIfPresent(key);
+            if (window == null) {
+                return maxAttempts;
+            }
+            return Math.max(0, maxAttempts - window.count(bucket));
+        }
+
+        long remainingLockoutNanos(String key, long now, long bucketNanos) {
+            SlidingWindow window = windows.getIfPresent(key);
+            if (window == null) {
+                return 0;
+            }
+            return window.remainingLockoutNanos(now, bucketNanos, maxAttempts);
+        }
+
+        void reset(String key) {
+            windows.invalidate(key);
         }
-        // X-Forwarded-For can contain multiple IPs, take the first one
-        return xfHeader.split(",")[0].trim();
     }
 
     /**
-     * Inner class to store attempt information.
+     * Failed attempts of one key, counted per bucket over the last
+     * {@link #BUCKETS} buckets. A slot is reused once its bucket has left the
+     * window, so the memory per key is fixed.
      */
-    private static class AttemptInfo {
-        private final int attempts;
-        private final long lastAttemptTime;
+    private static final class SlidingWindow {
+
+        private final long[] buckets = new long[BUCKETS];
+        private final int[] counts = new int[BUCKETS];
+        private boolean blocked;
+
+        SlidingWindow() {
+            Arrays.fill(buckets, Long.MIN_VALUE);
+        }
 
-        public AttemptInfo(int attempts, long lastAttemptTime) {
-            this.attempts = attempts;
-            this.lastAttemptTime = lastAttemptTime;
+        /**
+         * @return true if this failure blocked the key
+         */
+        synchronized boolean add(long bucket, int maxAttempts) {
+            int slot = (int) Math.floorMod(bucket, (long) BUCKETS);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+            if (!blocked && count(bucket) >= maxAttempts) {
+                blocked = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized int count(long bucket) {
+            int count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (inWindow(buckets[i], bucket)) {
+                    count += counts[i];
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return true if the key was blocked and the window has slid below the
+         *         limit
+         */
+        synchronized boolean unblockIfBelow(long bucket, int maxAttempts) {
+            if (blocked && count(bucket) < maxAttempts) {
+                blocked = false;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the key was blocked
+         */
+        synchronized boolean clearBlocked() {
+            boolean wasBlocked = blocked;
+            blocked = false;
+            return wasBlocked;
+        }
+
+        /**
+         * Time until enough of the oldest buckets have left the window to bring
+         * the count below the limit.
+         */
+        synchronized long remainingLockoutNanos(long now, long bucketNanos, int maxAttempts) {
+            long bucket = now / bucketNanos;
+            int remaining = count(bucket);
+            if (remaining < maxAttempts) {
+                return 0;
+            }
+            for (long oldest = bucket - BUCKETS + 1; oldest <= bucket; oldest++) {
+                int slot = (int) Math.floorMod(oldest, (long) BUCKETS);
+                if (buckets[slot] == oldest) {
+                    remaining -= counts[slot];
+                }
+                if (remaining < maxAttempts) {
+                    return (oldest + BUCKETS) * bucketNanos - now;
+                }
+            }
+            return 0;
+        }
+
+        private static boolean inWindow(long slotBucket, long bucket) {
+            return slotBucket <= bucket && slotBucket > bucket - BUCKETS;
         }
     }
 
@@ -241,15 +494,15 @@ public class LoginAttemptService extends SimpleUrlAuthenticationFailureHandler {
      */
     public Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalTrackedIPs", attemptsCache.size());
-        stats.put("maxAttempts", MAX_ATTEMPTS);
-        stats.put("lockoutDurationMinutes", LOCKOUT_DURATION_MINUTES);
-
-        long blockedCount = attemptsCache.values().stream()
-                .filter(info -> info.attempts >= MAX_ATTEMPTS && !isLockoutExpired(info))
-                .count();
-        stats.put("currentlyBlocked", blockedCount);
-
+        stats.put("totalTrackedIPs", (int) ipAttempts.windows.estimatedSize());
+        stats.put("maxAttempts", ipAttempts.maxAttempts);
+        stats.put("lockoutDurationMinutes", lockoutDurationMinutes);
+        stats.put("currentlyBlocked", ipAttempts.blocked.get());
+        stats.put("totalTrackedUsernames", (int) usernameAttempts.windows.estimatedSize());
+        stats.put("maxUsernameAttempts", usernameAttempts.maxAttempts);
+        stats.put("currentlyBlockedUsernames", usernameAttempts.blocked.get());
+        stats.put("failedAttempts", failedAttempts.sum());
+        stats.put("evictedEntries", ipAttempts.evictions.sum() + usernameAttempts.evictions.sum());
         return stats;
     }
 }
@@ -12,16 +12,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.sunbooking.security.CustomUserDetails;
+
+import io.jsonwebtoken.Claims;
+
 /**
  * Filter to validate JWT tokens and set authentication in SecurityContext.
  * Runs once per request before Spring Security's authentication processing.
+ * The principal comes from the token's claims; only the user's security stamp
+ * is checked, against an in-memory cache, so revoked tokens are refused
+ * without querying the users table on every request.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -32,7 +37,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private SecurityStampCache securityStampCache;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -41,12 +49,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                String username = jwtService.extractUsername(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtService.validateToken(jwt, userDetails)) {
+            if (StringUtils.hasText(jwt)) {
+                // Verified once; the principal is built from the claims without a user query
+                Claims claims = jwtService.parseAndValidate(jwt);
+                CustomUserDetails userDetails = jwtService.toPrincipal(claims);
+                String stamp = claims.get(JwtService.CLAIM_STAMP, String.class);
+
+                if (claims.getId() != null && tokenDenylist.isRevoked(claims.getId())) {
+                    logger.debug("Logged out JWT rejected for subject: {}", claims.getSubject());
+                } else if (userDetails == null || stamp == null) {
+                    logger.debug("JWT without user claims rejected for subject: {}", claims.getSubject());
+                } else if (!stamp.equals(securityStampCache.getStamp(userDetails.getId()))) {
+                    // Password or role changed, or the account was deactivated, since the token was issued
+                    logger.debug("Revoked JWT rejected for user ID: {}", userDetails.getId());
+                } else {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -56,7 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    logger.debug("JWT authentication successful for user: {}", username);
+                    logger.debug("JWT authentication successful for user: {}", claims.getSubject());
                 }
             }
         } catch (JwtValidationException ex) {
@@ -74,7 +90,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * @param request the HTTP request
      * @return JWT token or null
      */
-    private String extractJwtFromRequest(HttpServletRequest request) {
+    public static String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
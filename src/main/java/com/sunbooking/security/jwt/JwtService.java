@@ -4,8 +4,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +20,13 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.sunbooking.entity.User;
+import com.sunbooking.entity.UserRole;
+import com.sunbooking.security.CustomUserDetails;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -33,6 +43,26 @@ public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
+    /**
+     * User ID claim.
+     */
+    public static final String CLAIM_USER_ID = "uid";
+
+    /**
+     * Role claim, the name of a {@link UserRole}.
+     */
+    public static final String CLAIM_ROLE = "role";
+
+    /**
+     * Security stamp claim, see {@link SecurityStampCache}.
+     */
+    public static final String CLAIM_STAMP = "stamp";
+
+    /**
+     * HS512 keys must be at least as long as the hash output.
+     */
+    private static final int MIN_KEY_BYTES = 64;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -42,20 +72,52 @@ public class JwtService {
     @Autowired
     private MessageSource messageSource;
 
+    /**
+     * HMAC key decoded from the hex secret once at startup.
+     */
+    private SecretKey signingKey;
+
+    /**
+     * Immutable and thread-safe, so one parser verifies every token.
+     */
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = decodeHex(jwtSecret);
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("jwt.secret must encode at least " + MIN_KEY_BYTES
+                    + " bytes for HS512, got " + keyBytes.length);
+        }
+        logger.debug("JWT Secret length: {} chars, Key size: {} bytes ({} bits)",
+                jwtSecret.length(), keyBytes.length, keyBytes.length * 8);
+        signingKey = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS512.getJcaName());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     /**
      * Convert hex string secret to byte array for signing.
-     * 
+     *
+     * @param secret the hex-encoded secret
      * @return byte array of the secret key
+     * @throws IllegalStateException if the secret has an odd length or a
+     *                               non-hex character
      */
-    private byte[] getSigningKey() {
-        // Convert hex string to bytes
-        int len = jwtSecret.length();
+    static byte[] decodeHex(String secret) {
+        int len = secret.length();
+        if (len % 2 != 0) {
+            throw new IllegalStateException("jwt.secret must have an even number of hex digits, got " + len);
+        }
         byte[] data = new byte[len / 2];
         for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(jwtSecret.charAt(i), 16) << 4)
-                    + Character.digit(jwtSecret.charAt(i + 1), 16));
+            int high = Character.digit(secret.charAt(i), 16);
+            int low = Character.digit(secret.charAt(i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalStateException("jwt.secret must be hex-encoded, found a non-hex character at "
+                        + (high < 0 ? i : i + 1));
+            }
+            data[i / 2] = (byte) ((high << 4) + low);
         }
-        logger.debug("JWT Secret length: {} chars, Key size: {} bytes ({} bits)", len, data.length, data.length * 8);
         return data;
     }
 
@@ -70,6 +132,45 @@ public class JwtService {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Generate a JWT token carrying what the API needs to authenticate a request
+     * without loading the user: the email as subject, the user ID, the role and
+     * the security stamp.
+     *
+     * @param user the user
+     * @return JWT token
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_STAMP, SecurityStampCache.stampOf(user.getPassword(), user.getRole()));
+        return createToken(claims, user.getEmail());
+    }
+
+    /**
+     * Build the authenticated principal from verified claims.
+     * The principal wraps a detached user holding only what the token carries:
+     * ID, email (also used as name), role and active flag.
+     *
+     * @param claims the claims returned by {@link #parseAndValidate(String)}
+     * @return the principal, or null if the token lacks the user claims
+     */
+    public CustomUserDetails toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(claims.getSubject());
+        user.setName(claims.getSubject());
+        user.setRole(UserRole.valueOf(role));
+        user.setIsActive(true);
+        return new CustomUserDetails(user);
+    }
+
     /**
      * Generate JWT token with custom claims.
      *
@@ -94,10 +195,11 @@ public class JwtService {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS512, getSigningKey())
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
@@ -141,32 +243,30 @@ public class JwtService {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Check if token is expired.
+     * Validate JWT token.
      *
-     * @param token the JWT token
-     * @return true if expired
+     * @param token       the JWT token
+     * @param userDetails the user details
+     * @return true if valid
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
     /**
-     * Validate JWT token.
+     * Check already verified claims against the user they name.
      *
-     * @param token       the JWT token
+     * @param claims      the claims returned by {@link #parseAndValidate(String)}
      * @param userDetails the user details
-     * @return true if valid
+     * @return true if the token belongs to the user and has not expired
      */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 
     /**
@@ -177,11 +277,23 @@ public class JwtService {
      * @throws JwtValidationException if token is invalid
      */
     public Boolean validateToken(String token) {
+        parseAndValidate(token);
+        return true;
+    }
+
+    /**
+     * Verify the signature and expiration of a token and return its claims, so
+     * a request needs to parse its token only once.
+     *
+     * @param token the JWT token
+     * @return the verified claims
+     * @throws JwtValidationException if token is invalid
+     */
+    public Claims parseAndValidate(String token) {
         Locale locale = LocaleContextHolder.getLocale();
 
         try {
-            Jwts.parser().setSigningKey(getSigningKey()).parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
             String errorMsg = messageSource.getMessage("jwt.error.invalid.signature", null, locale);
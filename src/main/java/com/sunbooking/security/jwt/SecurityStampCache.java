@@ -0,0 +1,113 @@
+package com.sunbooking.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sunbooking.entity.UserRole;
+import com.sunbooking.repository.UserRepository;
+import com.sunbooking.repository.projection.UserSecurityRow;
+
+/**
+ * Cache of the current security stamp of each user, checked against the stamp
+ * claim of API tokens.
+ * A stamp is a short digest of the user's password hash and role, so changing
+ * either one invalidates every token issued before; a deactivated or removed
+ * user has no stamp at all. Stamps are cached so authenticating an API request
+ * needs no query. The services that change passwords, roles or the active flag
+ * evict the user after their transaction commits; the TTL bounds how long a
+ * change made outside the application goes unnoticed.
+ */
+@Component
+public class SecurityStampCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityStampCache.class);
+
+    private static final int STAMP_BYTES = 12;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.stamp-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${jwt.stamp-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<Long, Optional<String>> stamps;
+
+    @PostConstruct
+    void init() {
+        stamps = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Get the current security stamp of a user.
+     *
+     * @param userId the user ID
+     * @return the stamp, or null if the user does not exist or is inactive
+     */
+    public String getStamp(Long userId) {
+        return stamps.get(userId, id -> {
+            logger.debug("Loading security stamp of user {}", id);
+            return userRepository.findSecurityRowById(id)
+                    .filter(row -> Boolean.TRUE.equals(row.getIsActive()))
+                    .map(row -> stampOf(row.getPassword(), row.getRole()));
+        }).orElse(null);
+    }
+
+    /**
+     * Forget the cached stamp of a user, now and again once the current
+     * transaction commits, so a concurrent request cannot cache the old value.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        stamps.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stamps.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Derive the security stamp of a user.
+     *
+     * @param passwordHash the stored password hash
+     * @param role         the role
+     * @return the URL-safe stamp
+     */
+    public static String stampOf(String passwordHash, UserRole role) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((passwordHash + '|' + role.name()).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, STAMP_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.sunbooking.security.jwt;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sunbooking.entity.RevokedToken;
+import com.sunbooking.repository.RevokedTokenRepository;
+
+/**
+ * Denylist of API tokens revoked before their expiry.
+ * Lookups hit a ConcurrentHashMap keyed by the token ID (jti), so checking a
+ * request costs one hash probe and allocates nothing. Each revocation is also
+ * queued by expiry; a sweep every second drops the entries whose token has
+ * expired, since the parser rejects those tokens anyway, so the denylist never
+ * holds more than the tokens revoked within one token lifetime. Revocations
+ * are persisted and the unexpired ones are reloaded at startup.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    /**
+     * Token ID mapped to the token's expiry in epoch milliseconds.
+     */
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Revocations ordered by expiry, earliest first; guarded by itself.
+     */
+    private final PriorityQueue<Revocation> byExpiry = new PriorityQueue<>();
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * Check whether a token was revoked.
+     *
+     * @param jti the token ID
+     * @return true if the token must be refused
+     */
+    public boolean isRevoked(String jti) {
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param jti       the token ID
+     * @param userId    the user the token was issued to, for reference
+     * @param expiresAt the expiry of the token
+     */
+    public void revoke(String jti, Long userId, Date expiresAt) {
+        if (expiresAt.getTime() <= System.currentTimeMillis() || isRevoked(jti)) {
+            return;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        transactionTemplate.executeWithoutResult(status -> revokedTokenRepository
+                .save(new RevokedToken(jti, userId, expiry, LocalDateTime.now())));
+        add(jti, expiresAt.getTime());
+        logger.debug("Revoked token {} of user {} until {}", jti, userId, expiry);
+    }
+
+    /**
+     * Drop the revocations of tokens that have expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.sweep-interval-ms:1000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        synchronized (byExpiry) {
+            Revocation head;
+            while ((head = byExpiry.peek()) != null && head.expiresAt <= now) {
+                byExpiry.poll();
+                revoked.remove(head.jti);
+            }
+        }
+    }
+
+    /**
+     * Delete the persisted revocations of tokens that have expired.
+     */
+    @Scheduled(cron = "${jwt.denylist.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository
+                .deleteExpired(LocalDateTime.now()));
+        logger.debug("Purged {} expired token revocations", deleted);
+    }
+
+    private void add(String jti, long expiresAt) {
+        synchronized (byExpiry) {
+            if (revoked.putIfAbsent(jti, expiresAt) == null) {
+                byExpiry.add(new Revocation(jti, expiresAt));
+            }
+        }
+    }
+
+    private static final class Revocation implements Comparable<Revocation> {
+
+        private final String jti;
+        private final long expiresAt;
+
+        private Revocation(String jti, long expiresAt) {
+            this.jti = jti;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public int compareTo(Revocation other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.sunbooking.security.ratelimit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sunbooking.config.RateLimitProperties;
+import com.sunbooking.config.RateLimitProperties.Policy;
+import com.sunbooking.security.CustomUserDetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filter limiting the request rate of each API client with token buckets.
+ * Runs in the API security chain after the JWT filter, so authenticated
+ * clients are keyed by user ID and anonymous clients by remote address. Every
+ * endpoint pattern has its own bucket per client. Rejected requests get 429
+ * with Retry-After and are counted in the api.rate_limit.throttled metric.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private Cache<String, TokenBucket> buckets;
+
+    private List<Counter> throttled;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        Gauge.builder("api.rate_limit.clients", buckets, Cache::estimatedSize)
+                .description("Client token buckets in memory")
+                .register(meterRegistry);
+
+        throttled = new ArrayList<>();
+        for (Policy policy : properties.getPolicies()) {
+            throttled.add(Counter.builder("api.rate_limit.throttled")
+                    .description("API requests rejected by the rate limit")
+                    .tag("pattern", policy.getPattern())
+                    .register(meterRegistry));
+        }
+        logger.info("API rate limiting {} with {} policies", properties.isEnabled() ? "enabled" : "disabled",
+                properties.getPolicies().size());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        int index = findPolicy(request.getRequestURI().substring(request.getContextPath().length()));
+        if (index < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Policy policy = properties.getPolicies().get(index);
+        long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        TokenBucket bucket = buckets.get(index + "|" + clientKey(request),
+                key -> new TokenBucket(policy.getCapacity(), policy.getRefillPeriod(), now));
+
+        long waitMillis = bucket.tryConsume(now);
+        if (waitMillis == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        throttled.get(index).increment();
+        logger.debug("Rate limit of {} exceeded by {}", policy.getPattern(), clientKey(request));
+        reject(request, response, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999));
+    }
+
+    private int findPolicy(String path) {
+        List<Policy> policies = properties.getPolicies();
+        for (int i = 0; i < policies.size(); i++) {
+            if (pathMatcher.match(policies.get(i).getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
+            return "user:" + ((CustomUserDetails) authentication.getPrincipal()).getUser().getId();
+        }
+        // Not X-Forwarded-For: clients could pick a fresh bucket per request.
+        // Behind a proxy the servlet container resolves the address from trusted proxies only.
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        Locale locale = request.getLocale();
+        String errorMessage = messageSource.getMessage("error.rate.limited", new Object[] { retryAfterSeconds },
+                locale);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        body.put("message", errorMessage);
+        body.put("path", request.getRequestURI());
+        body.put("timestamp", LocalDateTime.now().toString());
+
+        MAPPER.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sunbooking.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that refills continuously from empty to full over the refill
+ * period.
+ * The whole state is one AtomicLong: the time of the last refill in the high
+ * 40 bits and the available tokens, in thousandths, in the low 24 bits. A
+ * request takes a token with a single compare-and-set, so buckets are shared
+ * between request threads without locks. Rejections do not write at all.
+ */
+public final class TokenBucket {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    /**
+     * Tokens are counted in thousandths so slow refill rates are not rounded
+     * away.
+     */
+    private static final long SCALE = 1000;
+
+    /**
+     * Largest capacity that fits in the token bits.
+     */
+    public static final long MAX_CAPACITY = TOKEN_MASK / SCALE;
+
+    private final long capacity;
+    private final long refillMillis;
+    private final long origin;
+    private final AtomicLong state;
+
+    /**
+     * Create a full bucket.
+     *
+     * @param capacity     the maximum number of tokens (the burst size)
+     * @param refillPeriod the time to refill from empty to full
+     * @param nowMillis    the current time in milliseconds of a monotonic clock
+     * @throws IllegalArgumentException if the capacity does not fit
+     */
+    public TokenBucket(long capacity, Duration refillPeriod, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.capacity = capacity * SCALE;
+        this.refillMillis = Math.max(1, refillPeriod.toMillis());
+        // Rejects refill periods for which elapsed * capacity could overflow
+        Math.multiplyExact(this.refillMillis, this.capacity);
+        // Timestamps are relative to the creation of the bucket to fit in 40 bits
+        this.origin = nowMillis;
+        this.state = new AtomicLong(this.capacity);
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @param nowMillis the current time in milliseconds of the clock the bucket
+     *                  was created with
+     * @return 0 if a token was taken, otherwise the milliseconds until one is
+     *         available
+     */
+    public long tryConsume(long nowMillis) {
+        long now = Math.max(0, nowMillis - origin);
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+
+            long elapsed = now - last;
+            if (elapsed >= refillMillis) {
+                tokens = capacity;
+                last = now;
+            } else if (elapsed > 0) {
+                long added = elapsed * capacity / refillMillis;
+                if (tokens + added >= capacity) {
+                    tokens = capacity;
+                    last = now;
+                } else {
+                    // Only the time that produced whole thousandths is used up
+                    tokens += added;
+                    last += added * refillMillis / capacity;
+                }
+            }
+
+            if (tokens < SCALE) {
+                long wait = ((SCALE - tokens) * refillMillis + capacity - 1) / capacity;
+                return Math.max(1, wait - Math.max(0, now - last));
+            }
+            if (state.compareAndSet(current, (last << TOKEN_BITS) | (tokens - SCALE))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.sunbooking.security.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Session repository that batches last-access updates of its delegate.
+ *
+ * The session filter touches the session on every request, and the JDBC
+ * repository writes each touch as an UPDATE. Here a session whose attributes,
+ * ID and timeout are unchanged is not saved through the delegate; its new
+ * last-access time is queued and written with the other queued touches in
+ * one batch at the flush interval. New and modified sessions are saved
+ * through the delegate at once, as are touches of sessions whose stored
+ * last-access time is older than half their timeout, so a delayed touch never
+ * lets the database consider a session in use expired. Queued touches are
+ * published as session.touch.pending and written ones counted in
+ * session.touch.flushed.
+ *
+ * @param <S> the session type of the delegate
+ * @author Sun Booking Team
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class WriteBehindSessionRepository<S extends Session>
+        implements FindByIndexNameSessionRepository<WriteBehindSessionRepository.TrackedSession>, DisposableBean {
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final JdbcOperations jdbcOperations;
+    private final String updateSql;
+    private final int batchSize;
+    private final Map<String, Touch> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+
+    /**
+     * Create the repository.
+     *
+     * @param delegate       the repository storing the sessions
+     * @param jdbcOperations the JDBC access to the session table
+     * @param tableName      the session table of the delegate
+     * @param batchSize      the number of touches per JDBC batch
+     * @param meterRegistry  the registry the touch metrics are published to
+     */
+    public WriteBehindSessionRepository(FindByIndexNameSessionRepository<S> delegate, JdbcOperations jdbcOperations,
+            String tableName, int batchSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.jdbcOperations = jdbcOperations;
+        // A touch never moves the last access back, e.g. over a newer one written by another node
+        this.updateSql = "UPDATE " + tableName + " SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ?"
+                + " WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?";
+        this.batchSize = batchSize;
+        Gauge.builder("session.touch.pending", pending, Map::size)
+                .description("Session last-access updates waiting for the next flush")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("session.touch.flushed")
+                .description("Session last-access updates written in batches")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TrackedSession createSession() {
+        return new TrackedSession(delegate.createSession(), true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void save(TrackedSession session) {
+        Instant lastAccessed = session.getLastAccessedTime();
+        Duration maxInactive = session.getMaxInactiveInterval();
+        Duration sinceStored = Duration.between(session.storedLastAccessedTime, lastAccessed);
+        boolean stale = !maxInactive.isNegative() && sinceStored.compareTo(maxInactive.dividedBy(2)) > 0;
+        if (session.isNew || session.changed || stale) {
+            pending.remove(session.storedId);
+            pending.remove(session.getId());
+            delegate.save((S) session.delegate);
+            session.saved();
+            return;
+        }
+        if (lastAccessed.isAfter(session.storedLastAccessedTime)) {
+            pending.merge(session.getId(), new Touch(lastAccessed, expiryOf(session)),
+                    (queued, touch) -> touch.lastAccessed.isAfter(queued.lastAccessed) ? touch : queued);
+        }
+    }
+
+    @Override
+    public TrackedSession findById(String id) {
+        S session = delegate.findById(id);
+        if (session == null) {
+            return null;
+        }
+        TrackedSession tracked = new TrackedSession(session, false);
+        Touch touch = pending.get(id);
+        if (touch != null && touch.lastAccessed.isAfter(session.getLastAccessedTime())) {
+            // Report the last access of this node rather than the stored one
+            session.setLastAccessedTime(touch.lastAccessed);
+        }
+        return tracked;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pending.remove(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, TrackedSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, S> sessions = delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+        Map<String, TrackedSession> tracked = new LinkedHashMap<>();
+        sessions.forEach((id, session) -> tracked.put(id, new TrackedSession(session, false)));
+        return tracked;
+    }
+
+    /**
+     * Write the queued last-access times in batches.
+     */
+    @Scheduled(fixedDelayString = "${session.touch.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> touches = new ArrayList<>();
+        Set<String> ids = pending.keySet();
+        for (String id : ids) {
+            Touch touch = pending.remove(id);
+            if (touch != null) {
+                long lastAccessed = touch.lastAccessed.toEpochMilli();
+                touches.add(new Object[] { lastAccessed, touch.expiry.toEpochMilli(), id, lastAccessed });
+            }
+        }
+        if (touches.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < touches.size(); from += batchSize) {
+            jdbcOperations.batchUpdate(updateSql, touches.subList(from, Math.min(from + batchSize, touches.size())));
+        }
+        flushed.increment(touches.size());
+        log.debug("Flushed {} session touches", touches.size());
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private static Instant expiryOf(Session session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        return maxInactive.isNegative() ? Instant.ofEpochMilli(Long.MAX_VALUE)
+                : session.getLastAccessedTime().plus(maxInactive);
+    }
+
+    /**
+     * Latest queued last access of a session and the expiry it implies.
+     */
+    private static final class Touch {
+
+        private final Instant lastAccessed;
+        private final Instant expiry;
+
+        private Touch(Instant lastAccessed, Instant expiry) {
+            this.lastAccessed = lastAccessed;
+            this.expiry = expiry;
+        }
+    }
+
+    /**
+     * Session of the delegate that records whether more than its last access
+     * changed since it was loaded or saved.
+     */
+    public static final class TrackedSession implements Session {
+
+        private final Session delegate;
+        private boolean isNew;
+        private boolean changed;
+        private String storedId;
+        private Instant storedLastAccessedTime;
+
+        private TrackedSession(Session delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+            this.storedId = delegate.getId();
+            this.storedLastAccessedTime = delegate.getLastAccessedTime();
+        }
+
+        private void saved() {
+            isNew = false;
+            changed = false;
+            storedId = delegate.getId();
+            storedLastAccessedTime = delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            changed = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            changed = true;
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            changed = true;
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            changed = true;
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
@@ -26,6 +26,8 @@ import com.sunbooking.exception.DuplicateResourceException;
 import com.sunbooking.exception.ResourceNotFoundException;
 import com.sunbooking.mapper.AdminMapper;
 import com.sunbooking.repository.UserRepository;
+import com.sunbooking.security.jwt.SecurityStampCache;
+import com.sunbooking.service.auth.RegisteredEmailFilter;
 import com.sunbooking.specification.UserSpecification;
 
 /**
@@ -50,6 +52,12 @@ public class AdminManagementService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private SecurityStampCache securityStampCache;
+
     @Autowired
     private AdminMapper adminMapper;
 
@@ -69,7 +77,8 @@ public class AdminManagementService {
         Specification<User> spec = Specification.where(UserSpecification.hasRole(UserRole.ADMIN));
 
         if (criteria.hasKeyword()) {
-            spec = spec.and(UserSpecification.nameOrEmailContains(criteria.getTrimmedKeyword()));
+            spec = spec.and(UserSpecification.nameOrEmailMatches(criteria.getTrimmedKeyword(),
+                    criteria.getSearchMode()));
         }
 
         if (criteria.hasActiveFilter()) {
@@ -141,6 +150,7 @@ public class AdminManagementService {
         admin.setRole(UserRole.ADMIN); // Ensure ADMIN role
 
         User savedAdmin = userRepository.save(admin);
+        registeredEmailFilter.add(savedAdmin.getEmail());
         logger.info("Created new admin with ID: {}, Email: {} by user: {}",
                 savedAdmin.getId(), savedAdmin.getEmail(), getCurrentUsername());
 
@@ -206,6 +216,8 @@ public class AdminManagementService {
         }
 
         User updatedAdmin = userRepository.save(admin);
+        registeredEmailFilter.add(updatedAdmin.getEmail());
+        securityStampCache.evict(updatedAdmin.getId());
         logger.info("Updated admin with ID: {}, Email: {} by user: {}",
                 updatedAdmin.getId(), updatedAdmin.getEmail(), getCurrentUsername());
 
@@ -250,6 +262,7 @@ public class AdminManagementService {
 
         admin.softDelete();
         userRepository.save(admin);
+        securityStampCache.evict(admin.getId());
 
         logger.info("Soft deleted admin with ID: {}, Email: {} by user: {}",
                 admin.getId(), admin.getEmail(), getCurrentUsername());
@@ -274,6 +287,7 @@ public class AdminManagementService {
 
         admin.restore();
         userRepository.save(admin);
+        securityStampCache.evict(admin.getId());
 
         logger.info("Reactivated admin with ID: {}, Email: {} by user: {}",
                 admin.getId(), admin.getEmail(), getCurrentUsername());
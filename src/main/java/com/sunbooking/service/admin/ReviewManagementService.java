@@ -1,11 +1,20 @@
 package com.sunbooking.service.admin;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -21,6 +30,8 @@ import com.sunbooking.entity.Review;
 import com.sunbooking.exception.ResourceNotFoundException;
 import com.sunbooking.repository.CommentRepository;
 import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.repository.projection.ReviewSearchHit;
+import com.sunbooking.service.review.CommentThreadService;
 import com.sunbooking.specification.ReviewSpecification;
 import com.sunbooking.util.ReviewValidator;
 
@@ -35,20 +46,30 @@ public class ReviewManagementService {
 
         private static final Logger logger = LoggerFactory.getLogger(ReviewManagementService.class);
 
+        private static final int MIN_FULLTEXT_KEYWORD_LENGTH = 2;
+
         @Autowired
         private ReviewRepository reviewRepository;
 
         @Autowired
         private CommentRepository commentRepository;
 
+        @Autowired
+        private CommentThreadService commentThreadService;
+
         @Autowired
         private MessageSource messageSource;
 
         @Autowired
         private ReviewValidator reviewValidator;
 
+        @Value("${review.search.fulltext-enabled:true}")
+        private boolean fullTextSearchEnabled;
+
         /**
          * Get all reviews with search and filter criteria.
+         * With a keyword and review.search.fulltext-enabled, the FULLTEXT indexes
+         * are used; otherwise the keyword is matched with LIKE.
          *
          * @param criteria the search criteria
          * @return page of review list DTOs
@@ -57,6 +78,11 @@ public class ReviewManagementService {
         public Page<ReviewListDTO> getAllReviews(ReviewSearchCriteria criteria) {
                 logger.debug("Getting all reviews with criteria: {}", criteria);
 
+                // Keyword searches are ranked by relevance instead of the requested sort
+                if (useFullTextSearch(criteria.getKeyword())) {
+                        return searchReviewsFullText(criteria);
+                }
+
                 Sort sort = Sort.by(
                                 "DESC".equalsIgnoreCase(criteria.getSortDir()) ? Sort.Direction.DESC
                                                 : Sort.Direction.ASC,
@@ -72,6 +98,50 @@ public class ReviewManagementService {
                                 });
         }
 
+        /**
+         * Check whether a keyword search can use the FULLTEXT indexes. Keywords
+         * shorter than an ngram token match nothing there, so they use LIKE.
+         */
+        private boolean useFullTextSearch(String keyword) {
+                return fullTextSearchEnabled && keyword != null
+                                && keyword.trim().length() >= MIN_FULLTEXT_KEYWORD_LENGTH;
+        }
+
+        /**
+         * Search reviews with MATCH ... AGAINST, most relevant first. The page of
+         * matching IDs is resolved to reviews with one fetch-join query.
+         *
+         * @param criteria the search criteria (keyword must be set)
+         * @return page of review list DTOs
+         */
+        private Page<ReviewListDTO> searchReviewsFullText(ReviewSearchCriteria criteria) {
+                String keyword = criteria.getKeyword().trim();
+                String phrase = "\"" + keyword.replace("\"", " ") + "\"";
+                Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize());
+
+                Page<ReviewSearchHit> hits = reviewRepository.searchFullText(keyword, phrase,
+                                criteria.getCategoryType() != null ? criteria.getCategoryType().name() : null,
+                                criteria.getIsActive(), pageable);
+
+                List<Long> reviewIds = hits.getContent().stream()
+                                .map(ReviewSearchHit::getReviewId)
+                                .collect(Collectors.toList());
+                Map<Long, Review> reviews = reviewIds.isEmpty() ? Collections.emptyMap()
+                                : reviewRepository.findWithAssociationsByIds(reviewIds).stream()
+                                                .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+                List<ReviewListDTO> content = reviewIds.stream()
+                                .map(reviews::get)
+                                .filter(Objects::nonNull)
+                                .map(review -> {
+                                        reviewValidator.validateReviewIntegrity(review);
+                                        return ReviewListDTO.fromEntity(review);
+                                })
+                                .collect(Collectors.toList());
+                logger.debug("Full-text search for '{}' matched {} reviews", keyword, hits.getTotalElements());
+                return new PageImpl<>(content, pageable, hits.getTotalElements());
+        }
+
         /**
          * Get detailed review information by ID.
          *
@@ -89,11 +159,15 @@ public class ReviewManagementService {
                                                                 LocaleContextHolder.getLocale())));
 
                 reviewValidator.validateReviewIntegrity(review);
-                return ReviewDetailDTO.fromEntity(review);
+                ReviewDetailDTO reviewDetail = ReviewDetailDTO.fromEntity(review);
+                reviewDetail.setComments(commentThreadService.loadReviewThread(id, true).stream()
+                                .map(ReviewDetailDTO.CommentDTO::fromThreadNode)
+                                .collect(Collectors.toList()));
+                return reviewDetail;
         }
 
         /**
-         * Soft delete a review.
+         * Soft delete a review together with its active comments.
          *
          * @param id the review ID to delete
          */
@@ -116,12 +190,15 @@ public class ReviewManagementService {
 
                 review.softDelete();
                 reviewRepository.save(review);
+                int comments = commentRepository.softDeleteByReviewIds(Collections.singletonList(id),
+                                review.getDeletedAt());
+                reviewRepository.adjustCommentCount(id, -comments);
 
-                logger.info("Review {} soft deleted successfully", id);
+                logger.info("Review {} soft deleted successfully with {} comments", id, comments);
         }
 
         /**
-         * Restore a soft-deleted review.
+         * Restore a soft-deleted review and the comments deleted with it.
          *
          * @param id the review ID to restore
          */
@@ -142,10 +219,13 @@ public class ReviewManagementService {
                                                         LocaleContextHolder.getLocale()));
                 }
 
+                // Comments deleted together with the review share its deletion time
+                int comments = commentRepository.restoreDeletedWithReview(id, review.getDeletedAt());
                 review.restore();
                 reviewRepository.save(review);
+                reviewRepository.adjustCommentCount(id, comments);
 
-                logger.info("Review {} restored successfully", id);
+                logger.info("Review {} restored successfully with {} comments", id, comments);
         }
 
         /**
@@ -172,6 +252,7 @@ public class ReviewManagementService {
 
                 comment.softDelete();
                 commentRepository.save(comment);
+                reviewRepository.adjustCommentCount(comment.getReview().getId(), -1);
 
                 logger.info("Comment {} soft deleted successfully", commentId);
         }
@@ -200,6 +281,7 @@ public class ReviewManagementService {
 
                 comment.restore();
                 commentRepository.save(comment);
+                reviewRepository.adjustCommentCount(comment.getReview().getId(), 1);
 
                 logger.info("Comment {} restored successfully", commentId);
         }
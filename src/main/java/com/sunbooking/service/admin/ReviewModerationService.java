@@ -0,0 +1,197 @@
+package com.sunbooking.service.admin;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sunbooking.dto.admin.review.ReviewBulkDeleteRequest;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.service.job.BackgroundJob;
+import com.sunbooking.service.job.BackgroundJobRegistry;
+
+/**
+ * Service for bulk moderation of reviews.
+ * Selected reviews are soft deleted in ID-ordered chunks, each with two
+ * set-based UPDATEs (reviews, then their comments) in its own short
+ * transaction, on the job executor instead of the request thread.
+ */
+@Service
+public class ReviewModerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewModerationService.class);
+
+    private static final String JOB_TYPE = "REVIEW_BULK_DELETE";
+
+    private static final int MIN_KEYWORD_LENGTH = 2;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BackgroundJobRegistry backgroundJobRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Value("${review.moderation.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${review.search.fulltext-enabled:true}")
+    private boolean fullTextSearchEnabled;
+
+    /**
+     * Start a background job that soft deletes the selected reviews and their
+     * comments.
+     *
+     * @param request the selection
+     * @return the started job
+     * @throws ValidationException if the selection is missing or invalid
+     */
+    public BackgroundJob startBulkSoftDelete(ReviewBulkDeleteRequest request) {
+        Locale locale = LocaleContextHolder.getLocale();
+        if (request.getTarget() == null) {
+            throw new ValidationException(getMessage("error.moderation.target.required", null, locale));
+        }
+
+        Function<Long, List<Long>> nextChunk;
+        String description;
+        long total = -1;
+        switch (request.getTarget()) {
+            case IDS:
+                List<Long> reviewIds = parseIds(request.getReviewIds(), locale);
+                nextChunk = afterId -> nextChunkOf(reviewIds, afterId);
+                description = getMessage("job.review.bulk.delete.ids", new Object[] { reviewIds.size() }, locale);
+                total = reviewIds.size();
+                break;
+            case USER:
+                Long userId = request.getUserId();
+                if (userId == null) {
+                    throw new ValidationException(getMessage("error.moderation.user.required", null, locale));
+                }
+                nextChunk = afterId -> reviewRepository.findActiveIdsByUserIdAfter(userId, afterId,
+                        PageRequest.of(0, chunkSize));
+                description = getMessage("job.review.bulk.delete.user", new Object[] { userId }, locale);
+                total = reviewRepository.countActiveByUserId(userId);
+                break;
+            case KEYWORD:
+                String keyword = request.getKeyword() != null ? request.getKeyword().trim() : "";
+                if (keyword.length() < MIN_KEYWORD_LENGTH) {
+                    throw new ValidationException(getMessage("error.moderation.keyword.required",
+                            new Object[] { MIN_KEYWORD_LENGTH }, locale));
+                }
+                nextChunk = keywordChunks(keyword);
+                description = getMessage("job.review.bulk.delete.keyword", new Object[] { keyword }, locale);
+                break;
+            default:
+                throw new ValidationException(getMessage("error.moderation.target.required", null, locale));
+        }
+
+        long expected = total;
+        return backgroundJobRegistry.submit(JOB_TYPE, description, job -> {
+            job.setTotal(expected);
+            softDeleteAll(job, nextChunk, locale);
+        });
+    }
+
+    private void softDeleteAll(BackgroundJob job, Function<Long, List<Long>> nextChunk, Locale locale) {
+        // One deletion time for the whole run; DATETIME columns keep whole seconds
+        LocalDateTime deletedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        long reviews = 0;
+        long comments = 0;
+
+        Long afterId = 0L;
+        List<Long> ids;
+        while (!(ids = nextChunk.apply(afterId)).isEmpty()) {
+            List<Long> chunk = ids;
+            int[] deleted = transactionTemplate.execute(status -> softDeleteChunk(chunk, deletedAt));
+            reviews += deleted[0];
+            comments += deleted[1];
+            job.addProcessed(chunk.size());
+            job.setMessage(getMessage("job.review.bulk.delete.progress", new Object[] { reviews, comments }, locale));
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        logger.info("Bulk soft delete job {} deleted {} reviews and {} comments", job.getId(), reviews, comments);
+    }
+
+    /**
+     * Soft delete one chunk of reviews and cascade to their comments.
+     *
+     * @return the number of reviews and comments deleted
+     */
+    private int[] softDeleteChunk(List<Long> reviewIds, LocalDateTime deletedAt) {
+        List<Long> activeIds = reviewRepository.findActiveIdsIn(reviewIds);
+        if (activeIds.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        int reviews = reviewRepository.softDeleteByIds(activeIds, deletedAt);
+        int comments = commentRepository.softDeleteByReviewIds(activeIds, deletedAt);
+        return new int[] { reviews, comments };
+    }
+
+    private Function<Long, List<Long>> keywordChunks(String keyword) {
+        if (fullTextSearchEnabled) {
+            String phrase = "\"" + keyword.replace("\"", " ") + "\"";
+            return afterId -> reviewRepository.findActiveIdsByFullTextAfter(phrase, afterId, chunkSize).stream()
+                    .map(Number::longValue)
+                    .collect(Collectors.toList());
+        }
+        return afterId -> reviewRepository.findActiveIdsByKeywordAfter(keyword, afterId,
+                PageRequest.of(0, chunkSize));
+    }
+
+    private List<Long> nextChunkOf(List<Long> sortedIds, Long afterId) {
+        int index = Collections.binarySearch(sortedIds, afterId);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        return new ArrayList<>(sortedIds.subList(from, Math.min(from + chunkSize, sortedIds.size())));
+    }
+
+    private List<Long> parseIds(String text, Locale locale) {
+        TreeSet<Long> ids = new TreeSet<>();
+        if (text != null) {
+            for (String token : text.split("[,\\s]+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.parseLong(token));
+                } catch (NumberFormatException e) {
+                    throw new ValidationException(getMessage("error.moderation.ids.invalid",
+                            new Object[] { token }, locale));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new ValidationException(getMessage("error.moderation.ids.required", null, locale));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private String getMessage(String key, Object[] args, Locale locale) {
+        return messageSource.getMessage(key, args, locale);
+    }
+}
@@ -3,7 +3,10 @@ package com.sunbooking.service.admin;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.persistence.criteria.Predicate;
 
@@ -32,6 +35,7 @@ import com.sunbooking.exception.ResourceNotFoundException;
 import com.sunbooking.repository.BookingRepository;
 import com.sunbooking.repository.ReviewRepository;
 import com.sunbooking.repository.TourRepository;
+import com.sunbooking.service.media.TourImageService;
 
 /**
  * Implementation of TourManagementService.
@@ -51,6 +55,9 @@ public class TourManagementService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private TourImageService tourImageService;
+
     @Autowired
     private MessageSource messageSource;
 
@@ -69,7 +76,16 @@ public class TourManagementService {
 
         // Fetch and convert to DTO
         Page<Tour> tourPage = tourRepository.findAll(spec, pageable);
-        return tourPage.map(TourListDTO::fromEntity);
+        Page<TourListDTO> result = tourPage.map(TourListDTO::fromEntity);
+
+        // Attach cover thumbnails for the whole page with one grouped query
+        List<Long> tourIds = result.getContent().stream()
+                .map(TourListDTO::getId)
+                .collect(Collectors.toList());
+        Map<Long, String> thumbnailUrls = tourImageService.getCoverThumbnailUrls(tourIds);
+        result.forEach(tour -> tour.setThumbnailUrl(thumbnailUrls.get(tour.getId())));
+
+        return result;
     }
 
     @Transactional(readOnly = true)
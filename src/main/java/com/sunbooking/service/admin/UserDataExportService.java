@@ -0,0 +1,176 @@
+package com.sunbooking.service.admin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sunbooking.exception.ResourceNotFoundException;
+import com.sunbooking.repository.UserRepository;
+
+/**
+ * Service for exporting everything stored about a user, for data-subject
+ * access requests.
+ * The export is a ZIP with one NDJSON file per kind of data. Each file is
+ * written straight from a forward-only JDBC cursor, one JSON line per row, so
+ * neither entities nor the whole result are held in memory and heap use does
+ * not grow with the amount of data. Passwords and derived search columns are
+ * not exported.
+ */
+@Service
+public class UserDataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDataExportService.class);
+
+    /**
+     * Export file name mapped to the query of its rows; every query takes the
+     * user ID as its only parameter.
+     */
+    private static final Map<String, String> SECTIONS = new LinkedHashMap<>();
+
+    static {
+        SECTIONS.put("profile.ndjson",
+                "SELECT id, name, email, phone, role, is_active, created_at, updated_at, deleted_at "
+                        + "FROM users WHERE id = ?");
+        SECTIONS.put("bookings.ndjson",
+                "SELECT b.id, b.booking_code, b.tour_id, t.title AS tour_title, b.booking_date, b.status, "
+                        + "b.payment_status, b.cancel_reason, b.rating, b.created_at, b.updated_at "
+                        + "FROM bookings b JOIN tours t ON t.id = b.tour_id WHERE b.user_id = ? ORDER BY b.id");
+        SECTIONS.put("reviews.ndjson",
+                "SELECT id, category_id, tour_id, title, content, is_active, like_count, comment_count, "
+                        + "created_at, updated_at, deleted_at FROM reviews WHERE user_id = ? ORDER BY id");
+        SECTIONS.put("comments.ndjson",
+                "SELECT id, review_id, parent_comment_id, content, is_active, created_at, updated_at, deleted_at "
+                        + "FROM comments WHERE user_id = ? ORDER BY id");
+        SECTIONS.put("likes.ndjson",
+                "SELECT id, review_id, created_at FROM likes WHERE user_id = ? ORDER BY id");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * JDBC fetch size of the export cursors; Integer.MIN_VALUE makes MySQL
+     * Connector/J stream rows instead of buffering the whole result.
+     */
+    @Value("${user.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Prepare the data export of a user. The user must exist; the data is
+     * read when the returned body is written to the response.
+     *
+     * @param userId the user ID
+     * @return the body writing the ZIP archive
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public StreamingResponseBody exportUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            String message = messageSource.getMessage("error.user.not.found",
+                    new Object[] { userId }, LocaleContextHolder.getLocale());
+            throw new ResourceNotFoundException(message);
+        }
+        return out -> writeArchive(userId, out);
+    }
+
+    private void writeArchive(Long userId, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(zip);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        long rows = 0;
+        for (Map.Entry<String, String> section : SECTIONS.entrySet()) {
+            zip.putNextEntry(new ZipEntry(section.getKey()));
+            rows += writeSection(section.getValue(), userId, generator);
+            generator.flush();
+            zip.closeEntry();
+        }
+        generator.close();
+        zip.finish();
+
+        logger.info("Exported {} rows of user {} in {} ms", rows, userId, System.currentTimeMillis() - startTime);
+    }
+
+    private long writeSection(String sql, Long userId, JsonGenerator generator) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(sql, rs -> {
+            try {
+                writeRow(rs, generator);
+            } catch (IOException e) {
+                // Client went away; abort the cursor
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }, userId);
+        return rows[0];
+    }
+
+    private static void writeRow(ResultSet rs, JsonGenerator generator) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        generator.writeStartObject();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            generator.writeFieldName(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT));
+            Object value = rs.getObject(i);
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Timestamp) {
+                generator.writeString(((Timestamp) value).toLocalDateTime().toString());
+            } else if (value instanceof Boolean) {
+                generator.writeBoolean((Boolean) value);
+            } else if (value instanceof BigDecimal) {
+                generator.writeNumber((BigDecimal) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                generator.writeNumber(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                generator.writeNumber(((Number) value).longValue());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -24,6 +24,9 @@ import com.sunbooking.exception.DuplicateResourceException;
 import com.sunbooking.exception.ResourceNotFoundException;
 import com.sunbooking.mapper.UserMapper;
 import com.sunbooking.repository.UserRepository;
+import com.sunbooking.repository.projection.UserStatsRow;
+import com.sunbooking.security.jwt.SecurityStampCache;
+import com.sunbooking.service.auth.RegisteredEmailFilter;
 import com.sunbooking.specification.UserSpecification;
 
 /**
@@ -46,9 +49,18 @@ public class UserManagementService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private SecurityStampCache securityStampCache;
+
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserStatsService userStatsService;
+
     /**
      * Get paginated list of users (USER role only) with search/filter criteria.
      *
@@ -103,10 +115,12 @@ public class UserManagementService {
 
         UserDTO dto = userMapper.toDTO(user);
 
-        // Add statistics
-        dto.setTotalBookings(user.getBookings().size());
-        dto.setTotalReviews(user.getReviews().size());
-        dto.setTotalComments(user.getComments().size());
+        // Add statistics (one aggregate query instead of loading the collections)
+        UserStatsRow stats = userStatsService.getStats(user.getId());
+        dto.setTotalBookings(stats.getTotalBookings());
+        dto.setTotalReviews(stats.getTotalReviews());
+        dto.setTotalComments(stats.getTotalComments());
+        dto.setTotalLikes(stats.getTotalLikes());
 
         logger.debug("Found user: {}", user.getEmail());
         return dto;
@@ -152,6 +166,8 @@ public class UserManagementService {
         }
 
         User updatedUser = userRepository.save(user);
+        registeredEmailFilter.add(updatedUser.getEmail());
+        securityStampCache.evict(updatedUser.getId());
         logger.info("Updated user with ID: {}, Email: {}", updatedUser.getId(), updatedUser.getEmail());
 
         return userMapper.toDTO(updatedUser);
@@ -178,6 +194,7 @@ public class UserManagementService {
 
         user.softDelete();
         userRepository.save(user);
+        securityStampCache.evict(user.getId());
 
         logger.info("Soft deleted user with ID: {}, Email: {}", user.getId(), user.getEmail());
     }
@@ -203,6 +220,7 @@ public class UserManagementService {
 
         user.restore();
         userRepository.save(user);
+        securityStampCache.evict(user.getId());
 
         logger.info("Reactivated user with ID: {}, Email: {}", user.getId(), user.getEmail());
     }
@@ -0,0 +1,216 @@
+package com.sunbooking.service.admin;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sunbooking.dto.admin.user.UserPurgeMode;
+import com.sunbooking.entity.User;
+import com.sunbooking.entity.UserRole;
+import com.sunbooking.exception.ResourceNotFoundException;
+import com.sunbooking.repository.UserRepository;
+import com.sunbooking.security.jwt.SecurityStampCache;
+import com.sunbooking.service.job.BackgroundJob;
+import com.sunbooking.service.job.BackgroundJobRegistry;
+import com.sunbooking.service.review.LikedReviewCache;
+import com.sunbooking.service.review.ReviewCounterReconciliationJob;
+
+/**
+ * Service for removing a user's data for good, by hard delete or by
+ * anonymization.
+ * Instead of removing the user entity and letting JPA load and delete every
+ * child row one by one, each child table is drained with set-based statements
+ * in dependency order: a chunk of IDs is selected, then deleted (or updated)
+ * with one statement in its own short transaction. The work runs as a
+ * background job, so no transaction or lock outlives a chunk and the progress
+ * can be polled. Review counters touched by deleted likes and comments are
+ * reconciled chunk by chunk.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private static final String JOB_TYPE = "USER_PURGE";
+
+    private static final String OWN_REVIEWS = "(SELECT r.id FROM reviews r WHERE r.user_id = :userId)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BackgroundJobRegistry backgroundJobRegistry;
+
+    @Autowired
+    private ReviewCounterReconciliationJob reviewCounterReconciliationJob;
+
+    @Autowired
+    private LikedReviewCache likedReviewCache;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private SecurityStampCache securityStampCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Value("${user.purge.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Start a background job that hard deletes or anonymizes a user.
+     *
+     * @param userId the user ID
+     * @param mode   delete or anonymize
+     * @return the started job
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public BackgroundJob startPurge(Long userId, UserPurgeMode mode) {
+        Locale locale = LocaleContextHolder.getLocale();
+        userRepository.findById(userId)
+                .filter(u -> u.getRole() == UserRole.USER)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        getMessage("error.user.not.found", new Object[] { userId }, locale)));
+
+        String description = getMessage(mode == UserPurgeMode.DELETE ? "job.user.purge.delete"
+                : "job.user.purge.anonymize", new Object[] { userId }, locale);
+        return backgroundJobRegistry.submit(JOB_TYPE, description, job -> {
+            if (mode == UserPurgeMode.DELETE) {
+                delete(job, userId, locale);
+            } else {
+                anonymize(job, userId, locale);
+            }
+            likedReviewCache.evict(userId);
+            userStatsService.evict(userId);
+            securityStampCache.evict(userId);
+        });
+    }
+
+    private void delete(BackgroundJob job, Long userId, Locale locale) {
+        // Rows of the user on other users' reviews; the counters of those reviews change
+        drain(job, userId, locale, "likes", true,
+                "SELECT id FROM likes WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                "DELETE FROM likes WHERE id IN (:ids)");
+        // Newest first, so replies go before the comments they answer
+        drain(job, userId, locale, "comments", true,
+                "SELECT id FROM comments WHERE user_id = :userId ORDER BY id DESC LIMIT :limit",
+                "DELETE FROM comments WHERE id IN (:ids)");
+        // Other users' rows on the user's reviews, before the reviews themselves
+        drain(job, userId, locale, "likes", false,
+                "SELECT id FROM likes WHERE review_id IN " + OWN_REVIEWS + " ORDER BY id LIMIT :limit",
+                "DELETE FROM likes WHERE id IN (:ids)");
+        drain(job, userId, locale, "comments", false,
+                "SELECT id FROM comments WHERE review_id IN " + OWN_REVIEWS + " ORDER BY id DESC LIMIT :limit",
+                "DELETE FROM comments WHERE id IN (:ids)");
+        drain(job, userId, locale, "reviews", false,
+                "SELECT id FROM reviews WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                "DELETE FROM reviews WHERE id IN (:ids)");
+        drain(job, userId, locale, "bookings", false,
+                "SELECT id FROM bookings WHERE user_id = :userId ORDER BY id LIMIT :limit",
+                "DELETE FROM bookings WHERE id IN (:ids)");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+            jdbcTemplate.update("DELETE FROM persistent_logins WHERE username = "
+                    + "(SELECT email FROM users WHERE id = :userId)", params);
+            jdbcTemplate.update("DELETE FROM users WHERE id = :userId", params);
+        });
+        job.addProcessed(1);
+        logger.info("Purge job {} deleted user {}", job.getId(), userId);
+    }
+
+    private void anonymize(BackgroundJob job, Long userId, Locale locale) {
+        // Free text written by the user about a booking may identify them
+        drain(job, userId, locale, "bookings", false,
+                "SELECT id FROM bookings WHERE user_id = :userId AND cancel_reason IS NOT NULL "
+                        + "ORDER BY id LIMIT :limit",
+                "UPDATE bookings SET cancel_reason = NULL, updated_at = updated_at WHERE id IN (:ids)");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) {
+                return;
+            }
+            jdbcTemplate.update("DELETE FROM persistent_logins WHERE username = :email",
+                    new MapSqlParameterSource("email", user.getEmail()));
+            user.setName(getMessage("user.anonymized.name", null, locale));
+            user.setEmail("deleted-" + userId + "@anonymized.invalid");
+            user.setPhone(null);
+            user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
+            user.setIsActive(false);
+            if (user.getDeletedAt() == null) {
+                user.setDeletedAt(LocalDateTime.now());
+            }
+            userRepository.save(user);
+        });
+        job.addProcessed(1);
+        logger.info("Purge job {} anonymized user {}", job.getId(), userId);
+    }
+
+    /**
+     * Apply a statement to the rows selected by a query, one chunk per
+     * transaction, until the query finds no more rows.
+     *
+     * @param table            the table of the rows, for progress messages
+     * @param affectsCounters  whether the rows are likes or comments whose
+     *                         reviews' counters must be reconciled
+     * @param selectSql        query of the next chunk of row IDs, with :userId
+     *                         and :limit; the statement must take the rows out of
+     *                         its result
+     * @param writeSql         DELETE or UPDATE of the rows with IDs :ids
+     * @return the number of rows written
+     */
+    private long drain(BackgroundJob job, Long userId, Locale locale, String table, boolean affectsCounters,
+            String selectSql, String writeSql) {
+        MapSqlParameterSource select = new MapSqlParameterSource("userId", userId).addValue("limit", chunkSize);
+        long written = 0;
+        List<Long> ids;
+        while (!(ids = jdbcTemplate.queryForList(selectSql, select, Long.class)).isEmpty()) {
+            MapSqlParameterSource chunk = new MapSqlParameterSource("ids", ids);
+            List<Long> reviewIds = transactionTemplate.execute(status -> {
+                List<Long> affected = affectsCounters
+                        ? jdbcTemplate.queryForList("SELECT DISTINCT review_id FROM " + table
+                                + " WHERE id IN (:ids)", chunk, Long.class)
+                        : Collections.<Long>emptyList();
+                jdbcTemplate.update(writeSql, chunk);
+                return affected;
+            });
+            reviewCounterReconciliationJob.reconcile(reviewIds);
+
+            written += ids.size();
+            job.addProcessed(ids.size());
+            job.setMessage(getMessage("job.user.purge.progress", new Object[] { table, written }, locale));
+        }
+        logger.debug("Purge job {} wrote {} {} rows of user {}", job.getId(), written, table, userId);
+        return written;
+    }
+
+    private String getMessage(String key, Object[] args, Locale locale) {
+        return messageSource.getMessage(key, args, locale);
+    }
+}
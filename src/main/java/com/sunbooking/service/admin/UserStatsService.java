@@ -0,0 +1,83 @@
+package com.sunbooking.service.admin;
+
+import java.time.Duration;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sunbooking.repository.UserRepository;
+import com.sunbooking.repository.projection.UserStatsRow;
+import com.sunbooking.service.review.ReviewActivityEvent;
+
+/**
+ * Service for per-user activity counters shown in the admin user detail view.
+ * The counters are read with one statement of scalar subqueries instead of
+ * initializing the user's bookings, reviews and comments collections, and are
+ * cached briefly. Committed likes, unlikes and comments evict the author's
+ * entry, so the cache only hides changes made outside this application.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${user.stats.cache-ttl:30s}")
+    private Duration cacheTtl;
+
+    @Value("${user.stats.cache-max-size:1000}")
+    private long cacheMaxSize;
+
+    private Cache<Long, UserStatsRow> stats;
+
+    @PostConstruct
+    void init() {
+        stats = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Get the activity counters of a user.
+     *
+     * @param userId the user ID
+     * @return the counters of the user
+     */
+    public UserStatsRow getStats(Long userId) {
+        return stats.get(userId, id -> {
+            logger.debug("Loading statistics of user {}", id);
+            return userRepository.findStatsByUserId(id);
+        });
+    }
+
+    /**
+     * Drop the cached counters of a user.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        stats.invalidate(userId);
+    }
+
+    /**
+     * Evict the counters of the user behind a committed like, unlike or
+     * comment.
+     *
+     * @param event the review activity
+     */
+    @TransactionalEventListener
+    public void onReviewActivity(ReviewActivityEvent event) {
+        evict(event.getUserId());
+    }
+}
@@ -0,0 +1,252 @@
+package com.sunbooking.service.admin;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.dto.admin.user.UserTimelineDTO;
+import com.sunbooking.dto.admin.user.UserTimelineEntryDTO;
+import com.sunbooking.dto.admin.user.UserTimelineEntryDTO.Type;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.BookingRepository;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.repository.projection.TimelineRow;
+import com.sunbooking.util.KeysetCursor;
+import com.sunbooking.util.KeysetCursor.Direction;
+
+/**
+ * Service for the activity timeline of a user: bookings, reviews, comments and
+ * likes, newest first.
+ * Each kind of activity is a keyset-paginated source read in (created_at, id)
+ * order. A page is produced by a k-way merge: the sources sit in a priority
+ * queue ordered by their next row, and the newest row is taken until the page
+ * is full. Sources are read lazily: each starts with a fair share of the page,
+ * and a source that runs out while the page still needs rows is read again
+ * for at most the rows still missing. A page therefore reads about its own
+ * size plus one share per source, instead of a full page from every source.
+ * The cursor records where every source stopped, so the next page resumes
+ * each source on its own index.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserTimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTimelineService.class);
+
+    private static final String CURSOR_SEPARATOR = ".";
+
+    /**
+     * Cursor part of a source with no rows left.
+     */
+    private static final String EXHAUSTED = "~";
+
+    /**
+     * Position after the newest row, where every source starts.
+     */
+    private static final KeysetCursor NEWEST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE, Direction.BEFORE);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Get one page of a user's activity timeline.
+     *
+     * @param userId the user ID
+     * @param cursor the nextCursor of the previous page, or null for the first
+     *               page
+     * @param size   the page size
+     * @return the page of timeline entries, newest first
+     * @throws ValidationException if the cursor is malformed
+     */
+    public UserTimelineDTO getTimeline(Long userId, String cursor, int size) {
+        KeysetCursor[] positions = decode(cursor);
+
+        List<Source> sources = new ArrayList<>();
+        PriorityQueue<Source> heads = new PriorityQueue<>(Source.NEWEST_FIRST);
+        int share = size / Type.values().length + 1;
+        for (Type type : Type.values()) {
+            Source source = new Source(type, query(type), positions[type.ordinal()]);
+            sources.add(source);
+            if (source.fetch(userId, share)) {
+                heads.add(source);
+            }
+        }
+
+        List<UserTimelineEntryDTO> entries = new ArrayList<>(size);
+        while (entries.size() < size && !heads.isEmpty()) {
+            Source source = heads.poll();
+            entries.add(UserTimelineEntryDTO.fromRow(source.type, source.next()));
+            if (source.hasNext() || (entries.size() < size && source.fetch(userId, size - entries.size()))) {
+                heads.add(source);
+            }
+        }
+        boolean hasMore = !heads.isEmpty() || hasUnreadRows(sources, userId);
+        logger.debug("Loaded {} timeline entries of user {}", entries.size(), userId);
+
+        return UserTimelineDTO.builder()
+                .entries(entries)
+                .nextCursor(hasMore ? encode(sources) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Check whether a source left unread when the page filled up has rows
+     * beyond the page, reading at most one row.
+     */
+    private boolean hasUnreadRows(List<Source> sources, Long userId) {
+        for (Source source : sources) {
+            if (source.fetch(userId, 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TimelineQuery query(Type type) {
+        switch (type) {
+            case BOOKING:
+                return bookingRepository::findTimelineRowsByUserId;
+            case REVIEW:
+                return reviewRepository::findTimelineRowsByUserId;
+            case COMMENT:
+                return commentRepository::findTimelineRowsByUserId;
+            case LIKE:
+                return likeRepository::findTimelineRowsByUserId;
+            default:
+                throw new IllegalArgumentException("Unknown timeline source: " + type);
+        }
+    }
+
+    private String encode(List<Source> sources) {
+        StringJoiner joiner = new StringJoiner(CURSOR_SEPARATOR);
+        for (Source source : sources) {
+            KeysetCursor position = source.nextPosition();
+            joiner.add(position != null ? position.encode() : EXHAUSTED);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * @return the position of every source by type ordinal; null for sources
+     *         with no rows left
+     */
+    private KeysetCursor[] decode(String cursor) {
+        KeysetCursor[] positions = new KeysetCursor[Type.values().length];
+        if (cursor == null || cursor.isEmpty()) {
+            Arrays.fill(positions, NEWEST);
+            return positions;
+        }
+
+        String[] parts = cursor.split("\\" + CURSOR_SEPARATOR, -1);
+        try {
+            if (parts.length != positions.length) {
+                throw new IllegalArgumentException("Expected " + positions.length + " cursor parts");
+            }
+            for (int i = 0; i < parts.length; i++) {
+                positions[i] = EXHAUSTED.equals(parts[i]) ? null : KeysetCursor.decode(parts[i], Direction.BEFORE);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(messageSource.getMessage("error.timeline.cursor.invalid", null,
+                    LocaleContextHolder.getLocale()));
+        }
+        return positions;
+    }
+
+    /**
+     * Keyset query of one kind of activity.
+     */
+    @FunctionalInterface
+    private interface TimelineQuery {
+        List<TimelineRow> find(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, Pageable pageable);
+    }
+
+    /**
+     * One kind of activity, read in chunks after its keyset position.
+     */
+    private static final class Source {
+
+        private static final Comparator<Source> NEWEST_FIRST = Comparator
+                .comparing((Source s) -> s.buffer.peekFirst().getCreatedAt(), Comparator.reverseOrder())
+                .thenComparing(s -> s.type)
+                .thenComparing(s -> s.buffer.peekFirst().getId(), Comparator.reverseOrder());
+
+        private final Type type;
+        private final TimelineQuery query;
+        private final Deque<TimelineRow> buffer = new ArrayDeque<>();
+        private KeysetCursor position;
+        private boolean drained;
+
+        private Source(Type type, TimelineQuery query, KeysetCursor position) {
+            this.type = type;
+            this.query = query;
+            this.position = position;
+            this.drained = position == null;
+        }
+
+        /**
+         * Read the next chunk of this source.
+         *
+         * @return true if the source has a row to merge
+         */
+        boolean fetch(Long userId, int limit) {
+            if (drained) {
+                return false;
+            }
+            List<TimelineRow> rows = query.find(userId, position.getCreatedAt(), position.getId(),
+                    PageRequest.of(0, limit));
+            buffer.addAll(rows);
+            drained = rows.size() < limit;
+            return hasNext();
+        }
+
+        boolean hasNext() {
+            return !buffer.isEmpty();
+        }
+
+        TimelineRow next() {
+            TimelineRow row = buffer.pollFirst();
+            position = new KeysetCursor(row.getCreatedAt(), row.getId(), Direction.BEFORE);
+            return row;
+        }
+
+        /**
+         * @return where the next page resumes this source, or null if it has no
+         *         rows left
+         */
+        KeysetCursor nextPosition() {
+            return buffer.isEmpty() && drained ? null : position;
+        }
+    }
+}
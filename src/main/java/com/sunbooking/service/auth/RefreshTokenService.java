@@ -0,0 +1,170 @@
+package com.sunbooking.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.entity.RefreshToken;
+import com.sunbooking.entity.User;
+import com.sunbooking.repository.RefreshTokenRepository;
+import com.sunbooking.security.jwt.SecurityStampCache;
+
+/**
+ * Service for opaque API refresh tokens.
+ * Logging in checks the password once and starts a token family; afterwards a
+ * client renews its short-lived access token with its refresh token, which
+ * costs one indexed lookup by token hash and no password hashing. Every
+ * refresh token works once: using it marks it used and issues its successor.
+ * Presenting a used token again means it was copied, so the whole family is
+ * revoked and both the thief and the owner must log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-token.expiration:30d}")
+    private Duration expiration;
+
+    /**
+     * Start a new token family for a user who just logged in.
+     *
+     * @param user the user
+     * @return the opaque refresh token
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Use a refresh token and issue its successor.
+     *
+     * @param token the opaque refresh token
+     * @return the successor and the token's user, or null if the token is
+     *         unknown, expired, already used or revoked, or the user's password,
+     *         role or active flag changed since the family started
+     */
+    @Transactional
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(token)).orElse(null);
+        if (current == null) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = current.getUser();
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now)) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive())
+                || !current.getStamp().equals(SecurityStampCache.stampOf(user.getPassword(), user.getRole()))) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            return null;
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family {}",
+                    user.getId(), current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            return null;
+        }
+
+        return new Rotation(create(user, current.getFamilyId()), user);
+    }
+
+    /**
+     * Revoke the family of a refresh token, e.g. on logout.
+     *
+     * @param token the opaque refresh token
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .ifPresent(current -> refreshTokenRepository.revokeFamily(current.getFamilyId(),
+                        LocalDateTime.now()));
+    }
+
+    /**
+     * Delete refresh tokens that have expired.
+     */
+    @Scheduled(cron = "${jwt.refresh-token.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setStamp(SecurityStampCache.stampOf(user.getPassword(), user.getRole()));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(expiration));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Result of a refresh: the successor token and the user to issue an access
+     * token for.
+     */
+    public static final class Rotation {
+
+        private final String refreshToken;
+        private final User user;
+
+        private Rotation(String refreshToken, User user) {
+            this.refreshToken = refreshToken;
+            this.user = user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sunbooking.service.auth;
+
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.sunbooking.util.BloomFilter;
+
+/**
+ * In-memory Bloom filter of every registered email address.
+ * Registration asks the filter first: a negative answer is definite, so the
+ * common case of a new address needs no existence query, and only a possible
+ * match is confirmed against the users table. The unique constraint on
+ * users.email remains the authority; the filter only saves the round trip.
+ * The filter is rebuilt at startup by streaming users.email; until the rebuild
+ * finishes, or if it fails, every address is reported as possibly registered
+ * so callers fall back to querying.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private static final String SELECT_EMAILS_SQL = "SELECT email FROM users";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${auth.register.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${auth.register.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * JDBC fetch size of the rebuild scan; Integer.MIN_VALUE makes MySQL
+     * Connector/J stream rows instead of buffering the whole result.
+     */
+    @Value("${auth.register.email-filter.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Filter being filled by a rebuild; addresses registered meanwhile are
+     * added to it too, so none is lost when it replaces the current filter.
+     */
+    private volatile BloomFilter building;
+
+    /**
+     * Check whether an email address may already be registered.
+     *
+     * @param email the email address
+     * @return false if the address is definitely not registered
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(key(email));
+    }
+
+    /**
+     * Record a newly registered email address.
+     *
+     * @param email the email address
+     */
+    public void add(String email) {
+        String key = key(email);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    /**
+     * Rebuild the filter from the users table, then replace the current filter
+     * with the result.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Rebuilding registered email filter");
+        long startTime = System.currentTimeMillis();
+        BloomFilter rebuilt = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        building = rebuilt;
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(fetchSize);
+            long[] rows = new long[1];
+            jdbcTemplate.query(SELECT_EMAILS_SQL, rs -> {
+                rebuilt.put(key(rs.getString(1)));
+                rows[0]++;
+            });
+            filter = rebuilt;
+            logger.info("Registered email filter rebuilt: {} emails in {} ms",
+                    rows[0], System.currentTimeMillis() - startTime);
+        } catch (DataAccessException e) {
+            logger.error("Failed to rebuild registered email filter, registration will query every email", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
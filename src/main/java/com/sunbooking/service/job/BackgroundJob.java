@@ -0,0 +1,117 @@
+package com.sunbooking.service.job;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a long-running task that runs on the job executor.
+ * The task reports progress through this object while request threads read
+ * it, so every field is safe to read concurrently.
+ */
+public class BackgroundJob {
+
+    private final String id;
+    private final String type;
+    private final String description;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong processed = new AtomicLong();
+
+    private volatile BackgroundJobStatus status = BackgroundJobStatus.QUEUED;
+    private volatile long total = -1;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    BackgroundJob(String id, String type, String description) {
+        this.id = id;
+        this.type = type;
+        this.description = description;
+    }
+
+    /**
+     * Set the number of items the job expects to process, if known.
+     *
+     * @param total the expected number of items
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Record that items were processed.
+     *
+     * @param count the number of items processed since the last call
+     */
+    public void addProcessed(long count) {
+        processed.addAndGet(count);
+    }
+
+    /**
+     * Set a short human-readable note on the current state of the job.
+     *
+     * @param message the message
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = BackgroundJobStatus.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = LocalDateTime.now();
+        status = BackgroundJobStatus.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        status = BackgroundJobStatus.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BackgroundJobStatus getStatus() {
+        return status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == BackgroundJobStatus.COMPLETED || status == BackgroundJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sunbooking.service.job;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import com.sunbooking.config.AsyncConfig;
+import com.sunbooking.exception.BusinessLogicException;
+
+/**
+ * Starts background jobs on the job executor and keeps their progress for
+ * polling. Only the most recent jobs are kept; finished jobs beyond that are
+ * forgotten oldest first.
+ */
+@Component
+public class BackgroundJobRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundJobRegistry.class);
+
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final Map<String, BackgroundJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    @Qualifier(AsyncConfig.JOB_EXECUTOR)
+    private TaskExecutor jobTaskExecutor;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Queue a job.
+     *
+     * @param type        a short machine-readable job type
+     * @param description what the job does, for display
+     * @param task        the work; reports progress through the job it is given
+     * @return the queued job
+     * @throws BusinessLogicException if too many jobs are already queued
+     */
+    public BackgroundJob submit(String type, String description, Consumer<BackgroundJob> task) {
+        BackgroundJob job = new BackgroundJob(UUID.randomUUID().toString(), type, description);
+        register(job);
+        try {
+            jobTaskExecutor.execute(() -> run(job, task));
+        } catch (TaskRejectedException e) {
+            unregister(job);
+            throw new BusinessLogicException(messageSource.getMessage("error.job.rejected", null,
+                    LocaleContextHolder.getLocale()));
+        }
+        logger.info("Queued {} job {}: {}", type, job.getId(), description);
+        return job;
+    }
+
+    /**
+     * Find a job by ID.
+     *
+     * @param id the job ID
+     * @return the job, or empty if it is unknown or was forgotten
+     */
+    public synchronized Optional<BackgroundJob> findById(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(BackgroundJob job, Consumer<BackgroundJob> task) {
+        job.markRunning();
+        long startTime = System.currentTimeMillis();
+        try {
+            task.accept(job);
+            job.markCompleted();
+            logger.info("{} job {} completed: {} items in {} ms", job.getType(), job.getId(),
+                    job.getProcessed(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            job.markFailed(e.getMessage());
+            logger.error("{} job {} failed after {} items", job.getType(), job.getId(), job.getProcessed(), e);
+        }
+    }
+
+    private synchronized void register(BackgroundJob job) {
+        jobs.put(job.getId(), job);
+        Iterator<BackgroundJob> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private synchronized void unregister(BackgroundJob job) {
+        jobs.remove(job.getId());
+    }
+}
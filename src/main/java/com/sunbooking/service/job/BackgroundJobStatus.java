@@ -0,0 +1,11 @@
+package com.sunbooking.service.job;
+
+/**
+ * Lifecycle states of a background job.
+ */
+public enum BackgroundJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,129 @@
+package com.sunbooking.service.media;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.sunbooking.config.MediaProperties;
+
+/**
+ * Stores media files on the local file system.
+ * Files are addressed by a random storage key and sharded into two levels of
+ * sub-directories (originals/ab/cd/abcd...) so no single directory grows huge.
+ * Files are immutable once written: a new upload always gets a new key.
+ */
+@Service
+public class MediaStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaStorageService.class);
+
+    private static final String ORIGINALS_DIR = "originals";
+    private static final String THUMBNAILS_DIR = "thumbnails";
+    private static final String THUMBNAIL_FORMAT = "jpg";
+    private static final Pattern STORAGE_KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    @Autowired
+    private MediaProperties mediaProperties;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(mediaProperties.getStorageDir()).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        logger.info("Media storage directory: {}", root);
+    }
+
+    /**
+     * Copy an uploaded stream to a new original file.
+     *
+     * @param content the uploaded content
+     * @return the storage key of the new file
+     * @throws IOException if the file cannot be written
+     */
+    public String storeOriginal(InputStream content) throws IOException {
+        String storageKey = UUID.randomUUID().toString().replace("-", "");
+        Path target = getOriginalPath(storageKey);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), storageKey, ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return storageKey;
+    }
+
+    /**
+     * Write a thumbnail as JPEG. The file is written under a temporary name and
+     * moved into place so readers never see a partial image.
+     *
+     * @param storageKey the storage key of the original
+     * @param thumbnail  the rendered thumbnail
+     * @throws IOException if the file cannot be written
+     */
+    public void storeThumbnail(String storageKey, BufferedImage thumbnail) throws IOException {
+        Path target = getThumbnailPath(storageKey);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), storageKey, ".tmp");
+        try {
+            if (!ImageIO.write(thumbnail, THUMBNAIL_FORMAT, temp.toFile())) {
+                throw new IOException("No image writer available for " + THUMBNAIL_FORMAT);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Delete the original and the thumbnail of a storage key, if present.
+     *
+     * @param storageKey the storage key
+     */
+    public void delete(String storageKey) {
+        try {
+            Files.deleteIfExists(getOriginalPath(storageKey));
+            Files.deleteIfExists(getThumbnailPath(storageKey));
+        } catch (IOException e) {
+            logger.warn("Failed to delete media files for key {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    public Path getOriginalPath(String storageKey) {
+        return resolve(ORIGINALS_DIR, storageKey, storageKey);
+    }
+
+    public Path getThumbnailPath(String storageKey) {
+        return resolve(THUMBNAILS_DIR, storageKey, storageKey + "." + THUMBNAIL_FORMAT);
+    }
+
+    public String getThumbnailContentType() {
+        return "image/jpeg";
+    }
+
+    private Path resolve(String area, String storageKey, String fileName) {
+        if (storageKey == null || !STORAGE_KEY_PATTERN.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("Invalid storage key: " + storageKey);
+        }
+        return root.resolve(area)
+                .resolve(storageKey.substring(0, 2))
+                .resolve(storageKey.substring(2, 4))
+                .resolve(fileName);
+    }
+}
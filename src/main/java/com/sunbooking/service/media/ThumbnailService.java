@@ -0,0 +1,158 @@
+package com.sunbooking.service.media;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sunbooking.config.AsyncConfig;
+import com.sunbooking.config.MediaProperties;
+import com.sunbooking.entity.TourImage;
+import com.sunbooking.repository.TourImageRepository;
+
+/**
+ * Generates square JPEG thumbnails for uploaded tour images.
+ * Decoding and scaling run on the media executor, never on request threads.
+ * Images left without a thumbnail (e.g. by a restart) are picked up again when
+ * the application starts.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    @Autowired
+    private TourImageRepository tourImageRepository;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private MediaProperties mediaProperties;
+
+    @Autowired
+    @Qualifier(AsyncConfig.MEDIA_EXECUTOR)
+    private TaskExecutor mediaTaskExecutor;
+
+    @TransactionalEventListener
+    public void onTourImageUploaded(TourImageUploadedEvent event) {
+        submit(event.getImageId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingThumbnails() {
+        List<Long> pending = tourImageRepository.findIdsWithPendingThumbnail();
+        if (!pending.isEmpty()) {
+            logger.info("Re-queuing thumbnail generation for {} images", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    private void submit(Long imageId) {
+        mediaTaskExecutor.execute(() -> generate(imageId));
+    }
+
+    /**
+     * Generate the thumbnail of an image and mark it ready.
+     *
+     * @param imageId the image ID
+     */
+    void generate(Long imageId) {
+        TourImage image = tourImageRepository.findById(imageId).orElse(null);
+        if (image == null || image.hasThumbnail()) {
+            return;
+        }
+
+        try {
+            BufferedImage source = read(mediaStorageService.getOriginalPath(image.getStorageKey()));
+            if (source == null) {
+                logger.warn("Cannot decode image {} for thumbnail generation", imageId);
+                return;
+            }
+            int size = mediaProperties.getThumbnailSize();
+            mediaStorageService.storeThumbnail(image.getStorageKey(), scaleToSquare(source, size));
+            tourImageRepository.markThumbnailReady(imageId);
+            logger.debug("Thumbnail generated for image {}", imageId);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Thumbnail generation failed for image {}", imageId, e);
+        }
+    }
+
+    /**
+     * Decode an image, refusing images whose header declares more pixels than
+     * allowed.
+     */
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > mediaProperties.getMaxPixels()) {
+                    logger.warn("Image {} has {} pixels, exceeding the limit", file.getFileName(), pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Center-crop the source to a square and scale it down. Large images are
+     * halved repeatedly first, which keeps bilinear scaling sharp.
+     */
+    private BufferedImage scaleToSquare(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage(
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+
+        while (side / 2 >= size) {
+            side /= 2;
+            current = draw(current, side);
+        }
+        return draw(current, size);
+    }
+
+    private BufferedImage draw(BufferedImage source, int size) {
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel; flatten transparent PNG/GIF onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
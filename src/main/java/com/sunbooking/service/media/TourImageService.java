@@ -0,0 +1,220 @@
+package com.sunbooking.service.media;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.sunbooking.config.MediaProperties;
+import com.sunbooking.dto.admin.tour.TourImageDTO;
+import com.sunbooking.entity.Tour;
+import com.sunbooking.entity.TourImage;
+import com.sunbooking.exception.ResourceNotFoundException;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.TourImageRepository;
+import com.sunbooking.repository.TourRepository;
+
+/**
+ * Handles upload, listing and removal of tour photos.
+ * Only metadata goes to the database; the original is streamed to disk and the
+ * thumbnail is produced asynchronously by {@link ThumbnailService}.
+ */
+@Service
+public class TourImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TourImageService.class);
+
+    @Autowired
+    private TourImageRepository tourImageRepository;
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private MediaProperties mediaProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Store an uploaded photo for a tour and queue its thumbnail.
+     *
+     * @param tourId the tour ID
+     * @param file   the uploaded file
+     * @return the saved image
+     */
+    @Transactional
+    public TourImageDTO uploadImage(Long tourId, MultipartFile file) {
+        Tour tour = tourRepository.findById(tourId)
+                .orElseThrow(() -> new ResourceNotFoundException(getMessage("error.entity.not.found",
+                        new Object[] { "Tour", tourId })));
+
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException(getMessage("error.tour.image.empty", null));
+        }
+
+        String format = detectFormat(file);
+        if (format == null || !mediaProperties.getAllowedFormats().contains(format)) {
+            throw new ValidationException(getMessage("error.tour.image.unsupported", null));
+        }
+
+        String storageKey;
+        try (InputStream content = file.getInputStream()) {
+            storageKey = mediaStorageService.storeOriginal(content);
+        } catch (IOException e) {
+            logger.error("Failed to store image for tour {}", tourId, e);
+            throw new IllegalStateException(getMessage("error.tour.image.storage", null), e);
+        }
+
+        // Do not leave an orphan file behind if the row is never committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    mediaStorageService.delete(storageKey);
+                }
+            }
+        });
+
+        TourImage image = new TourImage();
+        image.setTour(tour);
+        image.setStorageKey(storageKey);
+        image.setOriginalFilename(file.getOriginalFilename());
+        image.setContentType("image/" + format);
+        image.setSizeBytes(file.getSize());
+        image.setThumbnailReady(false);
+        TourImage savedImage = tourImageRepository.save(image);
+
+        eventPublisher.publishEvent(new TourImageUploadedEvent(savedImage.getId()));
+
+        logger.info("Image {} uploaded for tour {}", savedImage.getId(), tourId);
+        return TourImageDTO.fromEntity(savedImage);
+    }
+
+    /**
+     * Get all photos of a tour in upload order.
+     *
+     * @param tourId the tour ID
+     * @return the list of images
+     */
+    @Transactional(readOnly = true)
+    public List<TourImageDTO> getTourImages(Long tourId) {
+        return tourImageRepository.findByTourIdOrderByIdAsc(tourId).stream()
+                .map(TourImageDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the cover thumbnail URL of each tour using one grouped query.
+     *
+     * @param tourIds the tour IDs on the current page
+     * @return a map from tour ID to thumbnail URL; tours without photos are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> getCoverThumbnailUrls(Collection<Long> tourIds) {
+        Map<Long, String> urls = new HashMap<>();
+        if (tourIds.isEmpty()) {
+            return urls;
+        }
+        for (Object[] row : tourImageRepository.findCoverImageIdsByTourIds(tourIds)) {
+            urls.put((Long) row[0], TourImageDTO.thumbnailUrl((Long) row[1]));
+        }
+        return urls;
+    }
+
+    /**
+     * Find an image for serving.
+     *
+     * @param imageId the image ID
+     * @return the image if it exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<TourImage> findImage(Long imageId) {
+        return tourImageRepository.findById(imageId);
+    }
+
+    /**
+     * Delete a photo of a tour. Files are removed after the row deletion commits.
+     *
+     * @param tourId  the tour ID
+     * @param imageId the image ID
+     */
+    @Transactional
+    public void deleteImage(Long tourId, Long imageId) {
+        TourImage image = tourImageRepository.findById(imageId)
+                .filter(found -> found.getTour().getId().equals(tourId))
+                .orElseThrow(() -> new ResourceNotFoundException(getMessage("error.entity.not.found",
+                        new Object[] { "Tour image", imageId })));
+
+        String storageKey = image.getStorageKey();
+        tourImageRepository.delete(image);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mediaStorageService.delete(storageKey);
+            }
+        });
+
+        logger.info("Image {} deleted from tour {}", imageId, tourId);
+    }
+
+    /**
+     * Detect the image format from the file header rather than trusting the
+     * client-supplied content type.
+     */
+    private String detectFormat(MultipartFile file) {
+        try (InputStream content = new BufferedInputStream(file.getInputStream());
+                ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                return reader.getFormatName().toLowerCase(Locale.ROOT);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read uploaded file {}: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String getMessage(String key, Object[] args) {
+        return messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
+    }
+}
@@ -0,0 +1,15 @@
+package com.sunbooking.service.media;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a tour image row has been saved. Listeners run after the
+ * surrounding transaction commits, so the row is visible to other threads.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TourImageUploadedEvent {
+
+    private final Long imageId;
+}
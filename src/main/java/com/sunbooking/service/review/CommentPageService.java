@@ -0,0 +1,142 @@
+package com.sunbooking.service.review;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.dto.api.response.CommentPageResponse;
+import com.sunbooking.dto.api.response.CommentResponse;
+import com.sunbooking.entity.Comment;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.util.KeysetCursor;
+import com.sunbooking.util.KeysetCursor.Direction;
+
+/**
+ * Service for paging through the comments and replies of a review.
+ * Pages are keyed on (created_at, id): each page seeks to the position
+ * carried by the continuation token instead of skipping rows with OFFSET, so
+ * every page costs the same however deep a client scrolls. One row more than
+ * the page size is read to tell whether another page follows, so no COUNT
+ * query is needed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CommentPageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentPageService.class);
+
+    /**
+     * Position before the first comment in ascending order.
+     */
+    private static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+            Direction.AFTER);
+
+    /**
+     * Position after the last comment, the start in descending order.
+     */
+    private static final KeysetCursor END = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE, Direction.BEFORE);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Get one page of the top-level comments of a review.
+     *
+     * @param reviewId    the review ID
+     * @param cursor      the continuation token of the previous page, or null for
+     *                    the first page
+     * @param size        the page size
+     * @param newestFirst whether newer comments come first
+     * @return the page, with the reply count of each comment
+     * @throws ValidationException if the cursor is malformed or was issued for
+     *                             the other order
+     */
+    public CommentPageResponse getComments(Long reviewId, String cursor, int size, boolean newestFirst) {
+        KeysetCursor position = decode(cursor, newestFirst ? END : START);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Comment> comments = newestFirst
+                ? commentRepository.findTopLevelBefore(reviewId, position.getCreatedAt(), position.getId(), limit)
+                : commentRepository.findTopLevelAfter(reviewId, position.getCreatedAt(), position.getId(), limit);
+        logger.debug("Loaded {} comments of review {} after {}", comments.size(), reviewId, position);
+
+        return toPage(comments, size, position.getDirection());
+    }
+
+    /**
+     * Get one page of the direct replies to a comment, oldest first.
+     *
+     * @param reviewId  the review ID the comment belongs to
+     * @param commentId the comment ID
+     * @param cursor    the continuation token of the previous page, or null for
+     *                  the first page
+     * @param size      the page size
+     * @return the page, with the reply count of each reply
+     * @throws ValidationException if the cursor is malformed
+     */
+    public CommentPageResponse getReplies(Long reviewId, Long commentId, String cursor, int size) {
+        KeysetCursor position = decode(cursor, START);
+        List<Comment> replies = commentRepository.findRepliesAfter(reviewId, commentId,
+                position.getCreatedAt(), position.getId(), PageRequest.of(0, size + 1));
+        logger.debug("Loaded {} replies to comment {} after {}", replies.size(), commentId, position);
+
+        return toPage(replies, size, Direction.AFTER);
+    }
+
+    private CommentPageResponse toPage(List<Comment> rows, int size, Direction direction) {
+        boolean hasMore = rows.size() > size;
+        List<Comment> comments = hasMore ? rows.subList(0, size) : rows;
+        if (comments.isEmpty()) {
+            return CommentPageResponse.builder().comments(new ArrayList<>()).hasMore(false).build();
+        }
+
+        List<Long> ids = comments.stream().map(Comment::getId).collect(Collectors.toList());
+        Map<Long, Long> replyCounts = new HashMap<>();
+        for (Object[] row : commentRepository.countActiveRepliesByParentIds(ids)) {
+            replyCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<CommentResponse> items = comments.stream()
+                .map(comment -> {
+                    CommentResponse response = CommentResponse.fromEntity(comment);
+                    response.setReplyCount(replyCounts.getOrDefault(comment.getId(), 0L));
+                    return response;
+                })
+                .collect(Collectors.toList());
+
+        Comment last = comments.get(comments.size() - 1);
+        return CommentPageResponse.builder()
+                .comments(items)
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId(), direction).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private KeysetCursor decode(String cursor, KeysetCursor start) {
+        if (cursor == null || cursor.isEmpty()) {
+            return start;
+        }
+        try {
+            return KeysetCursor.decode(cursor, start.getDirection());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(messageSource.getMessage("api.comment.cursor.invalid", null,
+                    LocaleContextHolder.getLocale()));
+        }
+    }
+}
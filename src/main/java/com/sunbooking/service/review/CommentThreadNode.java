@@ -0,0 +1,32 @@
+package com.sunbooking.service.review;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sunbooking.repository.projection.CommentThreadRow;
+
+import lombok.Getter;
+
+/**
+ * A comment in an assembled thread together with its visible replies.
+ * hiddenReplyCount is the number of direct replies left out because the
+ * thread was truncated in depth or breadth.
+ */
+@Getter
+public class CommentThreadNode {
+
+    private final CommentThreadRow comment;
+    private List<CommentThreadNode> replies = new ArrayList<>();
+    private int hiddenReplyCount;
+
+    CommentThreadNode(CommentThreadRow comment) {
+        this.comment = comment;
+    }
+
+    void truncateReplies(int keep) {
+        if (replies.size() > keep) {
+            hiddenReplyCount = replies.size() - keep;
+            replies = keep == 0 ? new ArrayList<>() : new ArrayList<>(replies.subList(0, keep));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sunbooking.service.review;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.exception.ResourceNotFoundException;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.projection.CommentThreadRow;
+
+/**
+ * Service for loading comment threads.
+ * A thread is read with a single query and assembled into a tree in memory,
+ * instead of walking Comment.replies (one query per comment). Large threads
+ * are truncated to the configured depth and number of replies per comment.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CommentThreadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentThreadService.class);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Value("${review.comments.thread.max-depth:8}")
+    private int maxDepth;
+
+    @Value("${review.comments.thread.max-replies:50}")
+    private int maxReplies;
+
+    /**
+     * Load the discussion of a review as a tree of top-level comments.
+     *
+     * @param reviewId        the review ID
+     * @param includeInactive whether soft-deleted comments are included
+     * @return the top-level comments with their replies
+     */
+    public List<CommentThreadNode> loadReviewThread(Long reviewId, boolean includeInactive) {
+        List<CommentThreadRow> rows = includeInactive
+                ? commentRepository.findAllThreadRowsByReviewId(reviewId)
+                : commentRepository.findActiveThreadRowsByReviewId(reviewId);
+        logger.debug("Loaded {} comments for review {}", rows.size(), reviewId);
+
+        return CommentTreeAssembler.assemble(rows, null, maxDepth, maxReplies);
+    }
+
+    /**
+     * Load an active comment and its active replies as a sub-thread.
+     *
+     * @param commentId the ID of the comment the sub-thread starts at
+     * @return the comment with its replies
+     * @throws ResourceNotFoundException if the comment does not exist or is
+     *                                   deleted
+     */
+    public CommentThreadNode loadSubThread(Long commentId) {
+        // One level more than shown, so collapsed replies can still be counted
+        List<CommentThreadRow> rows = commentRepository.findActiveSubThreadRows(commentId, maxDepth + 1);
+        logger.debug("Loaded {} comments for sub-thread {}", rows.size(), commentId);
+
+        List<CommentThreadNode> roots = CommentTreeAssembler.assemble(rows, commentId, maxDepth, maxReplies);
+        if (roots.isEmpty()) {
+            throw new ResourceNotFoundException(
+                    messageSource.getMessage("error.comment.not.found",
+                            new Object[] { commentId },
+                            LocaleContextHolder.getLocale()));
+        }
+        return roots.get(0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.sunbooking.service.review;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sunbooking.repository.projection.CommentThreadRow;
+
+/**
+ * Assembles flat comment rows into a tree in O(n).
+ * Every row is indexed by ID first and then linked to its parent through that
+ * map, so the order of the rows only decides the order of siblings. Rows whose
+ * parent is not part of the input (e.g. a reply to a soft-deleted comment when
+ * only active comments were loaded) are dropped together with their replies.
+ */
+final class CommentTreeAssembler {
+
+    private CommentTreeAssembler() {
+    }
+
+    /**
+     * Build the comment tree.
+     *
+     * @param rows       the comments in the order siblings should appear
+     * @param rootId     the comment a sub-thread starts at, or null to use all
+     *                   top-level comments as roots
+     * @param maxDepth   the deepest reply level to keep (roots are depth 0)
+     * @param maxReplies the maximum number of direct replies kept per comment
+     * @return the root nodes
+     */
+    static List<CommentThreadNode> assemble(List<CommentThreadRow> rows, Long rootId, int maxDepth,
+            int maxReplies) {
+        Map<Long, CommentThreadNode> nodes = new HashMap<>(rows.size() * 2);
+        for (CommentThreadRow row : rows) {
+            nodes.put(row.getId(), new CommentThreadNode(row));
+        }
+
+        List<CommentThreadNode> roots = new ArrayList<>();
+        for (CommentThreadRow row : rows) {
+            CommentThreadNode node = nodes.get(row.getId());
+            boolean isRoot = rootId == null ? row.getParentCommentId() == null : rootId.equals(row.getId());
+            if (isRoot) {
+                roots.add(node);
+                continue;
+            }
+            CommentThreadNode parent = row.getParentCommentId() != null ? nodes.get(row.getParentCommentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(node);
+            }
+        }
+
+        truncate(roots, maxDepth, maxReplies);
+        return roots;
+    }
+
+    private static void truncate(List<CommentThreadNode> roots, int maxDepth, int maxReplies) {
+        Deque<CommentThreadNode> stack = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        for (CommentThreadNode root : roots) {
+            stack.push(root);
+            depths.push(0);
+        }
+
+        while (!stack.isEmpty()) {
+            CommentThreadNode node = stack.pop();
+            int depth = depths.pop();
+            node.truncateReplies(depth >= maxDepth ? 0 : maxReplies);
+            for (CommentThreadNode reply : node.getReplies()) {
+                stack.push(reply);
+                depths.push(depth + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.sunbooking.service.review;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coalesces like counter changes in memory and writes them to the reviews
+ * table in batches.
+ * The likes row itself is still inserted or deleted transactionally (the
+ * unique constraint guards against double likes); only the hot
+ * reviews.like_count update is deferred. Each review has a LongAdder, so
+ * concurrent likes on a viral review do not contend, and a flush turns any
+ * number of likes into one UPDATE per review. The counter lags behind by at
+ * most review.like-counter.flush-interval-ms.
+ */
+@Component
+public class LikeCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounterBuffer.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE reviews SET like_count = like_count + ?, updated_at = updated_at WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Buffer the counter change of a committed like or unlike.
+     *
+     * @param event the review activity
+     */
+    @TransactionalEventListener
+    public void onReviewActivity(ReviewActivityEvent event) {
+        switch (event.getType()) {
+            case LIKED:
+                add(event.getReviewId(), 1);
+                break;
+            case UNLIKED:
+                add(event.getReviewId(), -1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Add a delta to the buffered like counter of a review.
+     *
+     * @param reviewId the review ID
+     * @param delta    the amount to add (negative to subtract)
+     */
+    public void add(Long reviewId, long delta) {
+        while (delta != 0) {
+            LongAdder adder = pending.computeIfAbsent(reviewId, id -> new LongAdder());
+            adder.add(delta);
+            if (pending.get(reviewId) == adder) {
+                return;
+            }
+            // The flusher detached this adder while we were adding. Whatever it
+            // has not drained yet is taken back and added to the current adder.
+            delta = adder.sumThenReset();
+        }
+    }
+
+    /**
+     * Check whether a review has counter changes that are not written yet.
+     *
+     * @param reviewId the review ID
+     * @return true if a flush would change the review's like counter
+     */
+    public boolean hasPendingDelta(Long reviewId) {
+        LongAdder adder = pending.get(reviewId);
+        return adder != null && adder.sum() != 0;
+    }
+
+    /**
+     * Write all buffered deltas in one batch, in review ID order so concurrent
+     * flushes on several nodes lock rows in the same order. On failure the
+     * deltas are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${review.like-counter.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((reviewId, delta) -> batchArgs.add(new Object[] { delta, reviewId }));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs));
+            logger.debug("Flushed like counters of {} reviews", deltas.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush like counters of {} reviews, will retry", deltas.size(), e);
+            deltas.forEach(this::add);
+        }
+    }
+
+    /**
+     * Flush, then run an action while no other flush can run. The action sees
+     * like counters that include every buffered delta except those reported by
+     * {@link #hasPendingDelta(Long)}, and no delta is written under it.
+     *
+     * @param action the action to run
+     * @return the result of the action
+     */
+    public synchronized <T> T callWithFlushedCounters(Supplier<T> action) {
+        flush();
+        return action.get();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long reviewId = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            // Detach the adder so idle reviews do not stay in the map, then drain
+            // what was added in between; later additions are re-routed by add()
+            pending.remove(reviewId, adder);
+            delta += adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(reviewId, delta);
+            }
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,156 @@
+package com.sunbooking.service.review;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sunbooking.repository.LikeRepository;
+
+/**
+ * Per-user cache of liked review IDs, used to answer "liked by me" for a whole
+ * page of reviews without one query per review.
+ * Each user's likes are kept in a compressed Roaring bitmap, loaded with one
+ * index-only query on first use. Bitmaps are copy-on-write: readers never lock,
+ * and a committed like or unlike replaces the user's bitmap with an updated
+ * copy. The cache is bounded by the memory of its bitmaps; Caffeine's
+ * W-TinyLFU policy evicts rarely used users first. Users with more likes than
+ * review.liked-cache.max-likes-per-user are not cached; their pages are
+ * answered with one batch query instead.
+ */
+@Component
+public class LikedReviewCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikedReviewCache.class);
+
+    /**
+     * Cached in place of the bitmap of a user with too many likes.
+     */
+    private static final Roaring64Bitmap TOO_MANY_LIKES = new Roaring64Bitmap();
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Value("${review.liked-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    @Value("${review.liked-cache.expire-after-access:30m}")
+    private Duration expireAfterAccess;
+
+    @Value("${review.liked-cache.max-likes-per-user:100000}")
+    private int maxLikesPerUser;
+
+    private Cache<Long, Roaring64Bitmap> bitmaps;
+
+    @PostConstruct
+    void init() {
+        bitmaps = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long userId, Roaring64Bitmap bitmap) -> Math.max(1, bitmap.getSizeInBytes()))
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Tell which of the given reviews a user has liked.
+     *
+     * @param userId    the user ID
+     * @param reviewIds the review IDs to check
+     * @return each review ID mapped to whether the user liked it, in the given
+     *         order
+     */
+    public Map<Long, Boolean> getLikedFlags(Long userId, Collection<Long> reviewIds) {
+        Map<Long, Boolean> flags = new LinkedHashMap<>();
+        if (reviewIds.isEmpty()) {
+            return flags;
+        }
+
+        Roaring64Bitmap bitmap = bitmaps.get(userId, this::load);
+        if (bitmap == TOO_MANY_LIKES) {
+            reviewIds.forEach(reviewId -> flags.put(reviewId, false));
+            likeRepository.findLikedReviewIdsIn(userId, reviewIds).forEach(reviewId -> flags.put(reviewId, true));
+            return flags;
+        }
+        reviewIds.forEach(reviewId -> flags.put(reviewId, bitmap.contains(reviewId)));
+        return flags;
+    }
+
+    /**
+     * Apply a committed like or unlike to the cached bitmap of its user.
+     * Users that are not cached are left alone. If the user's bitmap is being
+     * loaded, the update waits for the load and is applied to its result.
+     *
+     * @param event the review activity
+     */
+    @TransactionalEventListener
+    public void onReviewActivity(ReviewActivityEvent event) {
+        switch (event.getType()) {
+            case LIKED:
+                update(event.getUserId(), event.getReviewId(), true);
+                break;
+            case UNLIKED:
+                update(event.getUserId(), event.getReviewId(), false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Drop the cached bitmap of a user.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        bitmaps.invalidate(userId);
+    }
+
+    private void update(Long userId, Long reviewId, boolean liked) {
+        bitmaps.asMap().computeIfPresent(userId, (id, bitmap) -> {
+            if (bitmap == TOO_MANY_LIKES || bitmap.contains(reviewId) == liked) {
+                return bitmap;
+            }
+            if (liked && bitmap.getLongCardinality() >= maxLikesPerUser) {
+                return TOO_MANY_LIKES;
+            }
+            Roaring64Bitmap updated = bitmap.clone();
+            if (liked) {
+                updated.addLong(reviewId);
+            } else {
+                updated.removeLong(reviewId);
+            }
+            return updated;
+        });
+    }
+
+    private Roaring64Bitmap load(Long userId) {
+        // One row more than the limit tells whether the user exceeds it
+        List<Long> reviewIds = likeRepository.findAllReviewIdsByUserId(userId,
+                PageRequest.of(0, maxLikesPerUser + 1));
+        if (reviewIds.size() > maxLikesPerUser) {
+            logger.debug("User {} has more than {} likes, not caching them", userId, maxLikesPerUser);
+            return TOO_MANY_LIKES;
+        }
+
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        reviewIds.forEach(bitmap::addLong);
+        bitmap.runOptimize();
+        logger.debug("Loaded {} liked reviews of user {}", reviewIds.size(), userId);
+        return bitmap;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sunbooking.service.review;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a user interacts with a review. Listeners that keep derived
+ * state (counters, caches) run after the surrounding transaction commits, so
+ * they never see an interaction that was rolled back.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReviewActivityEvent {
+
+    /**
+     * Kinds of review interactions.
+     */
+    public enum Type {
+        LIKED,
+        UNLIKED,
+        COMMENTED
+    }
+
+    private final Type type;
+    private final Long reviewId;
+    private final Long userId;
+
+    /**
+     * ID of the like or comment; for UNLIKED, of the removed like.
+     */
+    private final Long interactionId;
+
+    /**
+     * When the like or comment was created; for UNLIKED, when the removed like
+     * was.
+     */
+    private final LocalDateTime createdAt;
+}
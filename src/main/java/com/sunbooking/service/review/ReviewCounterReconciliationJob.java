@@ -0,0 +1,134 @@
+package com.sunbooking.service.review;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+
+/**
+ * Periodically checks the denormalized like and comment counters of all
+ * reviews against the source tables, repairing any drift (e.g. rows changed
+ * outside the application).
+ * The table is walked in ID-ordered chunks. For each chunk the stored counters
+ * and the actual counts are loaded with one query each (the counts are grouped
+ * by review), so a chunk costs three reads no matter its size, and only the
+ * reviews that actually drifted are written, each guarded by its stored values.
+ * Buffered like counter changes are flushed before each chunk, and reviews
+ * liked since then are skipped until the next run.
+ */
+@Component
+public class ReviewCounterReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewCounterReconciliationJob.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeCounterBuffer likeCounterBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${review.counters.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${review.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        logger.info("Starting review counter reconciliation");
+        long startTime = System.currentTimeMillis();
+
+        long reviews = 0;
+        long repaired = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        while (!(ids = reviewRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+            List<Long> chunk = ids;
+            Integer chunkRepaired = likeCounterBuffer.callWithFlushedCounters(
+                    () -> transactionTemplate.execute(status -> reconcileChunk(chunk)));
+            repaired += chunkRepaired != null ? chunkRepaired : 0;
+            reviews += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        logger.info("Review counter reconciliation finished: {} reviews checked, {} repaired in {} ms",
+                reviews, repaired, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Reconcile the counters of the given reviews now, e.g. after rows were
+     * deleted in bulk without maintaining the counters.
+     *
+     * @param reviewIds the review IDs; reviews that no longer exist are ignored
+     * @return the number of reviews whose counters were repaired
+     */
+    public int reconcile(Collection<Long> reviewIds) {
+        if (reviewIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> chunk = new ArrayList<>(reviewIds);
+        Integer repaired = likeCounterBuffer.callWithFlushedCounters(
+                () -> transactionTemplate.execute(status -> reconcileChunk(chunk)));
+        return repaired != null ? repaired : 0;
+    }
+
+    /**
+     * Reconcile the counters of one chunk of reviews.
+     *
+     * @param reviewIds the review IDs of the chunk
+     * @return the number of reviews whose counters were repaired
+     */
+    private int reconcileChunk(List<Long> reviewIds) {
+        Map<Long, Long> likeCounts = toCountMap(likeRepository.countLikesByReviewIds(reviewIds));
+        Map<Long, Long> commentCounts = toCountMap(commentRepository.countActiveCommentsByReviewIds(reviewIds));
+
+        int repaired = 0;
+        for (Object[] row : reviewRepository.findCountersByIds(reviewIds)) {
+            Long reviewId = (Long) row[0];
+            int storedLikes = ((Number) row[1]).intValue();
+            int storedComments = ((Number) row[2]).intValue();
+            int actualLikes = likeCounts.getOrDefault(reviewId, 0L).intValue();
+            int actualComments = commentCounts.getOrDefault(reviewId, 0L).intValue();
+
+            if (likeCounterBuffer.hasPendingDelta(reviewId)) {
+                // Liked or unliked since the flush; the stored counter is about to change
+                continue;
+            }
+            if (storedLikes != actualLikes || storedComments != actualComments) {
+                logger.debug("Review {} counters drifted: likes {} -> {}, comments {} -> {}",
+                        reviewId, storedLikes, actualLikes, storedComments, actualComments);
+                repaired += reviewRepository.repairCounters(reviewId, storedLikes, storedComments,
+                        actualLikes, actualComments);
+            }
+        }
+        return repaired;
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
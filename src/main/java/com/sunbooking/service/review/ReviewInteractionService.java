@@ -0,0 +1,151 @@
+package com.sunbooking.service.review;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.dto.api.request.CommentRequest;
+import com.sunbooking.dto.api.response.CommentResponse;
+import com.sunbooking.entity.Comment;
+import com.sunbooking.entity.Like;
+import com.sunbooking.entity.Review;
+import com.sunbooking.entity.User;
+import com.sunbooking.exception.ResourceNotFoundException;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.repository.UserRepository;
+
+/**
+ * Service for user interactions with reviews: likes and comments.
+ * Every change to the comments table adjusts the denormalized comment counter
+ * on the review in the same transaction. Like counter changes are published as
+ * ReviewActivityEvents and written in batches by LikeCounterBuffer.
+ */
+@Service
+@Transactional
+public class ReviewInteractionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewInteractionService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    /**
+     * Like a review. Liking an already liked review is a no-op.
+     *
+     * @param userId   the ID of the user liking the review
+     * @param reviewId the review ID
+     * @return true if a new like was recorded, false if it already existed
+     */
+    public boolean likeReview(Long userId, Long reviewId) {
+        Review review = findActiveReview(reviewId);
+
+        if (likeRepository.existsByUserIdAndReviewId(userId, reviewId)) {
+            return false;
+        }
+
+        Like like = new Like();
+        like.setUser(userRepository.getReferenceById(userId));
+        like.setReview(review);
+        // Flush so a concurrent duplicate fails on uq_likes_user_review before the
+        // like is reported
+        likeRepository.saveAndFlush(like);
+        eventPublisher.publishEvent(new ReviewActivityEvent(ReviewActivityEvent.Type.LIKED, reviewId, userId,
+                like.getId(), like.getCreatedAt()));
+
+        logger.debug("User {} liked review {}", userId, reviewId);
+        return true;
+    }
+
+    /**
+     * Remove a like from a review. Unliking a review that is not liked is a no-op.
+     *
+     * @param userId   the ID of the user
+     * @param reviewId the review ID
+     * @return true if a like was removed, false if there was none
+     */
+    public boolean unlikeReview(Long userId, Long reviewId) {
+        // Read before the delete: the trending index subtracts the weight the like was added with
+        Like like = likeRepository.findByUserIdAndReviewId(userId, reviewId).orElse(null);
+        if (like == null || likeRepository.deleteLike(userId, reviewId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new ReviewActivityEvent(ReviewActivityEvent.Type.UNLIKED, reviewId, userId,
+                like.getId(), like.getCreatedAt()));
+
+        logger.debug("User {} unliked review {}", userId, reviewId);
+        return true;
+    }
+
+    /**
+     * Add a comment, or a reply when a parent comment is given.
+     *
+     * @param userId  the ID of the author
+     * @param request the comment details
+     * @return the created comment
+     */
+    public CommentResponse addComment(Long userId, CommentRequest request) {
+        Review review = findActiveReview(request.getReviewId());
+
+        Comment parent = null;
+        if (request.getParentCommentId() != null) {
+            parent = commentRepository.findActiveById(request.getParentCommentId())
+                    .orElseThrow(() -> new ResourceNotFoundException(getMessage("error.comment.not.found",
+                            new Object[] { request.getParentCommentId() })));
+            if (!parent.getReview().getId().equals(review.getId())) {
+                throw new ValidationException(getMessage("error.comment.parent.mismatch", null));
+            }
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(getMessage("error.user.not.found",
+                        new Object[] { userId })));
+
+        Comment comment = new Comment();
+        comment.setUser(user);
+        comment.setReview(review);
+        comment.setParentComment(parent);
+        comment.setContent(request.getContent().trim());
+        comment.setIsActive(true);
+        Comment savedComment = commentRepository.save(comment);
+        reviewRepository.adjustCommentCount(review.getId(), 1);
+        eventPublisher.publishEvent(
+                new ReviewActivityEvent(ReviewActivityEvent.Type.COMMENTED, review.getId(), userId,
+                        savedComment.getId(), savedComment.getCreatedAt()));
+
+        logger.debug("User {} commented on review {}", userId, review.getId());
+        return CommentResponse.fromEntity(savedComment);
+    }
+
+    private Review findActiveReview(Long reviewId) {
+        return reviewRepository.findActiveById(reviewId)
+                .orElseThrow(() -> new ResourceNotFoundException(getMessage("error.review.not.found",
+                        new Object[] { reviewId })));
+    }
+
+    private String getMessage(String key, Object[] args) {
+        return messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
+    }
+}
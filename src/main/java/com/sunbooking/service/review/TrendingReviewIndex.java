@@ -0,0 +1,387 @@
+package com.sunbooking.service.review;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sunbooking.config.TrendingProperties;
+import com.sunbooking.entity.CategoryType;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+
+/**
+ * In-memory index of trending reviews per category type.
+ * Every like and comment adds a weight that decays exponentially with the
+ * configured half-life. Scores use forward decay: an event at time t adds
+ * weight * e^(lambda * (t - origin)), so all scores decay at the same rate and
+ * their order never changes while time passes. Only the event's own review is
+ * re-positioned, in O(log n). Scores are kept as logarithms so the growing
+ * exponent cannot overflow.
+ * The index is rebuilt from recent likes and comments on startup and pruned
+ * periodically so reviews that stopped trending do not accumulate.
+ */
+@Component
+public class TrendingReviewIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingReviewIndex.class);
+
+    private static final double LIKE_WEIGHT = 1.0;
+
+    private final long originMillis = System.currentTimeMillis();
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Index being filled by a rebuild; activity on rows its scan does not read
+     * is applied to it too, so none is lost when it replaces the current index.
+     */
+    private volatile Rebuild building;
+
+    @Autowired
+    private TrendingProperties properties;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    /**
+     * Apply a committed like, unlike or comment to the index, weighted by the
+     * time the like or comment was created. An unlike removes exactly the
+     * weight its like added.
+     *
+     * @param event the review activity
+     */
+    @TransactionalEventListener
+    public void onReviewActivity(ReviewActivityEvent event) {
+        long createdAt = event.getCreatedAt() != null ? toMillis(event.getCreatedAt()) : System.currentTimeMillis();
+        Rebuild rebuild = building;
+        Snapshot next = rebuild != null && !rebuild.scans(event) ? rebuild.snapshot : null;
+        switch (event.getType()) {
+            case LIKED:
+                add(event.getReviewId(), logWeight(createdAt, LIKE_WEIGHT), next);
+                break;
+            case UNLIKED:
+                subtract(event.getReviewId(), logWeight(createdAt, LIKE_WEIGHT), next);
+                break;
+            case COMMENTED:
+                add(event.getReviewId(), logWeight(createdAt, properties.getCommentWeight()), next);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Get the top trending reviews of a category type.
+     *
+     * @param categoryType the category type
+     * @param limit        the maximum number of reviews
+     * @return review IDs mapped to their current decayed score, highest first
+     */
+    public Map<Long, Double> getTopReviews(CategoryType categoryType, int limit) {
+        double decayedLog = decayedLog(System.currentTimeMillis());
+        Map<Long, Double> top = new LinkedHashMap<>();
+        for (Entry entry : snapshot.boards.get(categoryType).top(limit)) {
+            top.put(entry.reviewId, Math.exp(entry.logScore - decayedLog));
+        }
+        return top;
+    }
+
+    /**
+     * Rebuild the index from the likes and comments within the configured
+     * horizon, then replace the current index with the result. The scan reads
+     * the rows up to the highest like and comment IDs at its start; activity on
+     * later rows meanwhile is recorded in the index being built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Rebuilding trending reviews index");
+        long startTime = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minus(properties.getHorizon());
+
+        Snapshot rebuilt = new Snapshot();
+        Rebuild rebuild = new Rebuild(rebuilt, likeRepository.findMaxId(), commentRepository.findMaxId());
+        building = rebuild;
+        long likes;
+        long comments;
+        try {
+            Map<Long, Double> logScores = new HashMap<>();
+            likes = scan(since, rebuild.maxLikeId, LIKE_WEIGHT, logScores, true);
+            comments = scan(since, rebuild.maxCommentId, properties.getCommentWeight(), logScores, false);
+
+            List<Long> reviewIds = new ArrayList<>(logScores.keySet());
+            int chunkSize = properties.getRebuildChunkSize();
+            for (int from = 0; from < reviewIds.size(); from += chunkSize) {
+                List<Long> chunk = reviewIds.subList(from, Math.min(from + chunkSize, reviewIds.size()));
+                for (Object[] row : reviewRepository.findActiveCategoryTypesByIds(chunk)) {
+                    Long reviewId = (Long) row[0];
+                    rebuilt.add(reviewId, (CategoryType) row[1], logScores.get(reviewId));
+                }
+            }
+            snapshot = rebuilt;
+        } finally {
+            building = null;
+        }
+
+        logger.info("Trending reviews index rebuilt: {} reviews from {} likes and {} comments in {} ms",
+                rebuilt.categoryByReview.size(), likes, comments, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Remove reviews whose decayed score fell below the configured minimum.
+     */
+    @Scheduled(cron = "${review.trending.prune-cron:0 15 * * * *}")
+    public void prune() {
+        double minLog = Math.log(properties.getMinScore()) + decayedLog(System.currentTimeMillis());
+        int removed = snapshot.prune(minLog);
+        logger.debug("Pruned {} reviews from the trending index", removed);
+    }
+
+    private long scan(LocalDateTime since, long maxId, double weight, Map<Long, Double> logScores,
+            boolean likes) {
+        long rows = 0;
+        LocalDateTime afterCreatedAt = since;
+        Long afterId = 0L;
+        List<Object[]> chunk;
+        do {
+            PageRequest pageRequest = PageRequest.of(0, properties.getRebuildChunkSize());
+            chunk = likes
+                    ? likeRepository.findCreatedSince(afterCreatedAt, afterId, maxId, pageRequest)
+                    : commentRepository.findActiveCreatedSince(afterCreatedAt, afterId, maxId, pageRequest);
+            for (Object[] row : chunk) {
+                afterId = (Long) row[1];
+                afterCreatedAt = (LocalDateTime) row[2];
+                logScores.merge((Long) row[0], logWeight(toMillis(afterCreatedAt), weight),
+                        TrendingReviewIndex::logAdd);
+            }
+            rows += chunk.size();
+        } while (!chunk.isEmpty());
+        return rows;
+    }
+
+    /**
+     * @param next the index being built to add the weight to as well, or null
+     */
+    private void add(Long reviewId, double logWeight, Snapshot next) {
+        Snapshot current = snapshot;
+        CategoryType categoryType = current.categoryByReview.get(reviewId);
+        if (categoryType == null && next != null) {
+            categoryType = next.categoryByReview.get(reviewId);
+        }
+        if (categoryType == null) {
+            List<Object[]> rows = reviewRepository.findActiveCategoryTypesByIds(Collections.singleton(reviewId));
+            if (rows.isEmpty()) {
+                return;
+            }
+            categoryType = (CategoryType) rows.get(0)[1];
+        }
+        current.add(reviewId, categoryType, logWeight);
+        if (next != null) {
+            next.add(reviewId, categoryType, logWeight);
+        }
+    }
+
+    /**
+     * @param next the index being built to subtract the weight from as well,
+     *             or null
+     */
+    private void subtract(Long reviewId, double logWeight, Snapshot next) {
+        for (Snapshot target : next != null ? List.of(snapshot, next) : List.of(snapshot)) {
+            CategoryType categoryType = target.categoryByReview.get(reviewId);
+            if (categoryType != null) {
+                target.subtract(reviewId, categoryType, logWeight);
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private double lambdaPerMilli() {
+        return Math.log(2) / properties.getHalfLife().toMillis();
+    }
+
+    private double logWeight(long eventMillis, double weight) {
+        return Math.log(weight) + lambdaPerMilli() * (eventMillis - originMillis);
+    }
+
+    private double decayedLog(long nowMillis) {
+        return lambdaPerMilli() * (nowMillis - originMillis);
+    }
+
+    /**
+     * log(e^a + e^b) without overflow.
+     */
+    static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    /**
+     * A review's position in a ranking. Immutable, so it can be removed from
+     * the sorted set by equality and re-inserted with a new score.
+     */
+    private static final class Entry {
+
+        private static final Comparator<Entry> RANKING = Comparator
+                .comparingDouble((Entry e) -> e.logScore).reversed()
+                .thenComparingLong(e -> e.reviewId);
+
+        private final long reviewId;
+        private final double logScore;
+
+        private Entry(long reviewId, double logScore) {
+            this.reviewId = reviewId;
+            this.logScore = logScore;
+        }
+    }
+
+    /**
+     * Ranking of the reviews of one category type.
+     */
+    private static final class Board {
+
+        private final TreeSet<Entry> ranking = new TreeSet<>(Entry.RANKING);
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        synchronized void add(Long reviewId, double logWeight) {
+            Entry previous = entries.get(reviewId);
+            double logScore = logWeight;
+            if (previous != null) {
+                ranking.remove(previous);
+                logScore = logAdd(previous.logScore, logWeight);
+            }
+            put(reviewId, logScore);
+        }
+
+        /**
+         * @return true if the review is still ranked afterwards
+         */
+        synchronized boolean subtract(Long reviewId, double logWeight) {
+            Entry previous = entries.get(reviewId);
+            if (previous == null) {
+                return false;
+            }
+            ranking.remove(previous);
+            if (logWeight >= previous.logScore) {
+                entries.remove(reviewId);
+                return false;
+            }
+            put(reviewId, previous.logScore + Math.log1p(-Math.exp(logWeight - previous.logScore)));
+            return true;
+        }
+
+        synchronized List<Entry> top(int limit) {
+            List<Entry> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            Iterator<Entry> iterator = ranking.iterator();
+            while (iterator.hasNext() && top.size() < limit) {
+                top.add(iterator.next());
+            }
+            return top;
+        }
+
+        synchronized List<Long> prune(double minLog) {
+            List<Long> removed = new ArrayList<>();
+            while (!ranking.isEmpty() && ranking.last().logScore < minLog) {
+                Entry entry = ranking.pollLast();
+                entries.remove(entry.reviewId);
+                removed.add(entry.reviewId);
+            }
+            return removed;
+        }
+
+        private void put(Long reviewId, double logScore) {
+            Entry entry = new Entry(reviewId, logScore);
+            ranking.add(entry);
+            entries.put(reviewId, entry);
+        }
+    }
+
+    /**
+     * An index being built and the last rows its scan reads.
+     */
+    private static final class Rebuild {
+
+        private final Snapshot snapshot;
+        private final long maxLikeId;
+        private final long maxCommentId;
+
+        private Rebuild(Snapshot snapshot, long maxLikeId, long maxCommentId) {
+            this.snapshot = snapshot;
+            this.maxLikeId = maxLikeId;
+            this.maxCommentId = maxCommentId;
+        }
+
+        /**
+         * @return true if the row of the activity is within the scan
+         */
+        boolean scans(ReviewActivityEvent event) {
+            long maxId = event.getType() == ReviewActivityEvent.Type.COMMENTED ? maxCommentId : maxLikeId;
+            return event.getInteractionId() != null && event.getInteractionId() <= maxId;
+        }
+    }
+
+    /**
+     * The rankings of all category types, replaced as a whole on rebuild.
+     */
+    private static final class Snapshot {
+
+        private final Map<CategoryType, Board> boards = new EnumMap<>(CategoryType.class);
+        private final ConcurrentHashMap<Long, CategoryType> categoryByReview = new ConcurrentHashMap<>();
+
+        private Snapshot() {
+            for (CategoryType categoryType : CategoryType.values()) {
+                boards.put(categoryType, new Board());
+            }
+        }
+
+        void add(Long reviewId, CategoryType categoryType, double logWeight) {
+            categoryByReview.put(reviewId, categoryType);
+            boards.get(categoryType).add(reviewId, logWeight);
+        }
+
+        void subtract(Long reviewId, CategoryType categoryType, double logWeight) {
+            if (!boards.get(categoryType).subtract(reviewId, logWeight)) {
+                categoryByReview.remove(reviewId, categoryType);
+            }
+        }
+
+        int prune(double minLog) {
+            int removed = 0;
+            for (Map.Entry<CategoryType, Board> board : boards.entrySet()) {
+                for (Long reviewId : board.getValue().prune(minLog)) {
+                    categoryByReview.remove(reviewId, board.getKey());
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+}
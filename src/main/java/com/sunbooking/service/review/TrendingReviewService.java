@@ -0,0 +1,67 @@
+package com.sunbooking.service.review;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sunbooking.dto.api.response.TrendingReviewResponse;
+import com.sunbooking.entity.CategoryType;
+import com.sunbooking.entity.Review;
+import com.sunbooking.repository.ReviewRepository;
+
+/**
+ * Service for serving trending reviews.
+ * The ranking comes from the in-memory TrendingReviewIndex; only the reviews
+ * on the result are read from the database, with one query.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TrendingReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingReviewService.class);
+
+    @Autowired
+    private TrendingReviewIndex trendingReviewIndex;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    /**
+     * Get the top trending reviews of a category type.
+     *
+     * @param categoryType the category type
+     * @param limit        the maximum number of reviews
+     * @return the trending reviews, highest score first
+     */
+    public List<TrendingReviewResponse> getTrendingReviews(CategoryType categoryType, int limit) {
+        // Ask for a few more in case some were hidden since they were ranked
+        Map<Long, Double> scores = trendingReviewIndex.getTopReviews(categoryType, limit * 2);
+        if (scores.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Review> reviews = reviewRepository.findActiveWithUserAndCategoryByIds(scores.keySet()).stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+        List<TrendingReviewResponse> trending = new ArrayList<>(limit);
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            Review review = reviews.get(score.getKey());
+            if (review != null && review.getCategory().getType() == categoryType) {
+                trending.add(TrendingReviewResponse.fromEntity(review, score.getValue()));
+                if (trending.size() == limit) {
+                    break;
+                }
+            }
+        }
+        logger.debug("Found {} trending {} reviews", trending.size(), categoryType);
+        return trending;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sunbooking.specification;
 
+import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
@@ -36,9 +37,19 @@ public class ReviewSpecification {
         return (root, query, criteriaBuilder) -> {
             Predicate predicate = criteriaBuilder.conjunction();
 
-            // Join with User and Category for search
-            Join<Review, User> userJoin = root.join("user", JoinType.LEFT);
-            Join<Review, Category> categoryJoin = root.join("category", JoinType.LEFT);
+            // Join with User and Category for search. For the page query they are
+            // fetch joins (plus Tour), so mapping the page to DTOs needs no further
+            // queries; the count query only needs plain joins.
+            Join<Review, User> userJoin;
+            Join<Review, Category> categoryJoin;
+            if (isCountQuery(query)) {
+                userJoin = root.join("user", JoinType.LEFT);
+                categoryJoin = root.join("category", JoinType.LEFT);
+            } else {
+                userJoin = (Join<Review, User>) root.<Review, User>fetch("user", JoinType.LEFT);
+                categoryJoin = (Join<Review, Category>) root.<Review, Category>fetch("category", JoinType.LEFT);
+                root.fetch("tour", JoinType.LEFT);
+            }
 
             // Keyword search (title, content, user name, user email)
             if (criteria.getKeyword() != null && !criteria.getKeyword().trim().isEmpty()) {
@@ -70,6 +81,13 @@ public class ReviewSpecification {
         };
     }
 
+    /**
+     * Check whether the query being built is the count query of a paged lookup.
+     */
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return Long.class == query.getResultType() || long.class == query.getResultType();
+    }
+
     /**
      * Specification for reviews by user ID.
      */
@@ -8,8 +8,10 @@ import javax.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.sunbooking.dto.admin.user.UserSearchCriteria;
+import com.sunbooking.dto.admin.user.UserSearchMode;
 import com.sunbooking.entity.User;
 import com.sunbooking.entity.UserRole;
+import com.sunbooking.util.SearchTextNormalizer;
 
 /**
  * JPA Specification for dynamic User queries.
@@ -29,12 +31,8 @@ public class UserSpecification {
 
             // Keyword search (name or email)
             if (criteria.hasKeyword()) {
-                String likePattern = "%" + criteria.getTrimmedKeyword().toLowerCase() + "%";
-                Predicate namePredicate = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("name")), likePattern);
-                Predicate emailPredicate = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("email")), likePattern);
-                predicates.add(criteriaBuilder.or(namePredicate, emailPredicate));
+                predicates.add(nameOrEmailMatches(criteria.getTrimmedKeyword(), criteria.getSearchMode())
+                        .toPredicate(root, query, criteriaBuilder));
             }
 
             // Role filter
@@ -86,12 +84,27 @@ public class UserSpecification {
      * @return the specification
      */
     public static Specification<User> nameOrEmailContains(String keyword) {
+        return nameOrEmailMatches(keyword, UserSearchMode.CONTAINS);
+    }
+
+    /**
+     * Specification for users with name or email matching keyword.
+     * Matches the normalized search columns, so the search ignores case and
+     * accents. PREFIX mode is an index range scan on each column; CONTAINS
+     * mode has to scan the whole table.
+     *
+     * @param keyword the search keyword
+     * @param mode    how the keyword is matched (PREFIX if null)
+     * @return the specification
+     */
+    public static Specification<User> nameOrEmailMatches(String keyword, UserSearchMode mode) {
         return (root, query, criteriaBuilder) -> {
-            String likePattern = "%" + keyword.toLowerCase() + "%";
+            String escaped = SearchTextNormalizer.escapeLike(SearchTextNormalizer.normalize(keyword));
+            String likePattern = mode == UserSearchMode.CONTAINS ? "%" + escaped + "%" : escaped + "%";
             Predicate namePredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("name")), likePattern);
+                    root.get("nameSearch"), likePattern, SearchTextNormalizer.LIKE_ESCAPE);
             Predicate emailPredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get("email")), likePattern);
+                    root.get("emailSearch"), likePattern, SearchTextNormalizer.LIKE_ESCAPE);
             return criteriaBuilder.or(namePredicate, emailPredicate);
         };
     }
@@ -0,0 +1,116 @@
+package com.sunbooking.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a list ordered by (createdAt, id), used as a continuation token
+ * for keyset pagination. The next page starts right after (or before) this
+ * position, so it is found with an index seek instead of skipping rows.
+ * Encoded as an opaque URL-safe string that carries the direction, so a token
+ * of one direction is rejected where the other is expected.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Which side of the position the next page is read from.
+     */
+    public enum Direction {
+        /** Rows after the position, in ascending order. */
+        AFTER('>'),
+        /** Rows before the position, in descending order. */
+        BEFORE('<');
+
+        private final char marker;
+
+        Direction(char marker) {
+            this.marker = marker;
+        }
+    }
+
+    private final LocalDateTime createdAt;
+    private final long id;
+    private final Direction direction;
+
+    public KeysetCursor(LocalDateTime createdAt, long id, Direction direction) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = id;
+        this.direction = Objects.requireNonNull(direction, "direction");
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Encode this position as a continuation token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = String.valueOf(direction.marker) + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token.
+     *
+     * @param token     the token created by {@link #encode()}
+     * @param direction the direction the token must have been created for
+     * @return the position
+     * @throws IllegalArgumentException if the token is malformed or of the
+     *                                  other direction
+     */
+    public static KeysetCursor decode(String token, Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 1) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            if (raw.charAt(0) != direction.marker) {
+                throw new IllegalArgumentException("Cursor is not for reading " + direction + ": " + token);
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(1, separator)),
+                    Long.parseLong(raw.substring(separator + 1)), direction);
+        } catch (DateTimeParseException e) {
+            // NumberFormatException already is an IllegalArgumentException
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetCursor)) {
+            return false;
+        }
+        KeysetCursor other = (KeysetCursor) o;
+        return id == other.id && createdAt.equals(other.createdAt) && direction == other.direction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id, direction);
+    }
+
+    @Override
+    public String toString() {
+        return direction + " " + createdAt + "/" + id;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sunbooking.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for normalizing text for search columns.
+ * Normalized text is lower-cased and accent-folded ("Nguyễn Đức" becomes
+ * "nguyen duc"), so a plain index range scan with LIKE 'keyword%' is both
+ * case- and accent-insensitive. Stored values and search keywords must be
+ * normalized the same way.
+ */
+public final class SearchTextNormalizer {
+
+    /**
+     * Escape character for LIKE patterns built with {@link #escapeLike(String)}.
+     * Not a backslash, which MySQL would also treat as a string literal escape.
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Normalize text for storing in or searching a search column.
+     *
+     * @param text the text (may be null)
+     * @return the normalized text, or null if text is null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        // Decompose so accents become separate combining marks, then drop them.
+        // Đ/đ is a distinct letter, not D with a mark, so it is mapped explicitly.
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return WHITESPACE.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escape the LIKE wildcards in a keyword so it matches literally with
+     * {@code ESCAPE '!'}.
+     *
+     * @param keyword the keyword
+     * @return the escaped keyword
+     */
+    public static String escapeLike(String keyword) {
+        return keyword.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
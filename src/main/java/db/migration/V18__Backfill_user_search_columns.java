@@ -0,0 +1,55 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.sunbooking.util.SearchTextNormalizer;
+
+/**
+ * V18: Backfill users.name_search and users.email_search (added in V17).
+ * Users are read in primary key order, one batch at a time, and normalized
+ * with the same SearchTextNormalizer the User entity uses.
+ */
+public class V18__Backfill_user_search_columns extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, email FROM users WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+
+    // updated_at is assigned to itself so ON UPDATE does not touch it
+    private static final String UPDATE_SQL =
+            "UPDATE users SET name_search = ?, email_search = ?, updated_at = updated_at WHERE id = ?";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+                PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            long afterId = 0;
+            int rows;
+            do {
+                rows = 0;
+                select.setLong(1, afterId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        afterId = resultSet.getLong("id");
+                        update.setString(1, SearchTextNormalizer.normalize(resultSet.getString("name")));
+                        update.setString(2, SearchTextNormalizer.normalize(resultSet.getString("email")));
+                        update.setLong(3, afterId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) {
+                    update.executeBatch();
+                }
+            } while (rows == BATCH_SIZE);
+        }
+    }
+}
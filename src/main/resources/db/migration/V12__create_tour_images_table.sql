@@ -0,0 +1,19 @@
+-- V12: Create tour_images table
+-- Description: Metadata for tour photos. Originals and generated thumbnails live on disk
+-- under the media storage directory; only the storage key is kept in the database.
+CREATE TABLE tour_images (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tour_id BIGINT NOT NULL,
+    storage_key VARCHAR(36) NOT NULL,
+    original_filename VARCHAR(255) NULL,
+    content_type VARCHAR(50) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    thumbnail_ready BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Foreign key constraints
+    CONSTRAINT fk_tour_images_tour_id FOREIGN KEY (tour_id) REFERENCES tours(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT uq_tour_images_storage_key UNIQUE (storage_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+-- Indexes for performance optimization
+CREATE INDEX idx_tour_images_tour_id ON tour_images(tour_id, id);
+CREATE INDEX idx_tour_images_thumbnail_ready ON tour_images(thumbnail_ready);
@@ -0,0 +1,21 @@
+-- V13: Add denormalized counters to reviews
+-- Description: like_count and comment_count are maintained with atomic UPDATE statements
+-- on like/unlike and comment create/soft-delete/restore, so list pages never count rows.
+-- comment_count only counts active comments.
+ALTER TABLE reviews
+ADD COLUMN like_count INT NOT NULL DEFAULT 0 COMMENT 'Number of likes (denormalized)',
+    ADD COLUMN comment_count INT NOT NULL DEFAULT 0 COMMENT 'Number of active comments (denormalized)';
+-- Backfill existing rows; updated_at is assigned to itself so ON UPDATE does not touch it
+UPDATE reviews r
+SET r.like_count = (
+        SELECT COUNT(*)
+        FROM likes l
+        WHERE l.review_id = r.id
+    ),
+    r.comment_count = (
+        SELECT COUNT(*)
+        FROM comments c
+        WHERE c.review_id = r.id
+            AND c.is_active = TRUE
+    ),
+    r.updated_at = r.updated_at;
@@ -0,0 +1,4 @@
+-- V14: Add index for loading comment threads
+-- Description: A whole discussion is read with one query filtering on review_id and is_active
+-- and ordered by created_at; this index serves the filter and the ordering without a filesort.
+CREATE INDEX idx_comments_review_active_created ON comments(review_id, is_active, created_at);
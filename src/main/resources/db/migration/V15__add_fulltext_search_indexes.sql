@@ -0,0 +1,8 @@
+-- V15: Add FULLTEXT indexes for admin moderation search
+-- Description: Keyword search on reviews used LIKE '%kw%' on title and the TEXT content column,
+-- which scans the whole table. The ngram parser tokenizes text without relying on word
+-- delimiters, so partial words and Vietnamese syllables are found as well.
+ALTER TABLE reviews
+ADD FULLTEXT INDEX ft_reviews_title_content (title, content) WITH PARSER ngram;
+ALTER TABLE comments
+ADD FULLTEXT INDEX ft_comments_content (content) WITH PARSER ngram;
@@ -0,0 +1,8 @@
+-- V16: Add indexes for keyset pagination of comments
+-- Description: Comment lists are paged by (created_at, id) after a continuation token instead of
+-- OFFSET, which reads and discards every skipped row. With id as the last key part the seek and
+-- the ordering are served by the index, so every page costs the same however deep it is.
+-- The new review index supersedes idx_comments_review_active_created (V14).
+CREATE INDEX idx_comments_review_active_created_id ON comments(review_id, is_active, created_at, id);
+DROP INDEX idx_comments_review_active_created ON comments;
+CREATE INDEX idx_comments_parent_active_created_id ON comments(parent_comment_id, is_active, created_at, id);
@@ -0,0 +1,11 @@
+-- V17: Add normalized search columns to users
+-- Description: Searching users with LOWER(name) LIKE '%kw%' cannot use an index and scans the
+-- whole table. name_search and email_search hold lower-cased, accent-folded copies maintained
+-- by the application, so prefix searches (LIKE 'kw%') become index range scans.
+-- Existing rows are backfilled by the Java migration V18 (accent folding needs Unicode
+-- normalization, which MySQL does not provide).
+ALTER TABLE users
+ADD COLUMN name_search VARCHAR(255) NULL COMMENT 'Normalized name for prefix search' AFTER name,
+    ADD COLUMN email_search VARCHAR(255) NULL COMMENT 'Normalized email for prefix search' AFTER email;
+CREATE INDEX idx_users_name_search ON users(name_search);
+CREATE INDEX idx_users_email_search ON users(email_search);
@@ -0,0 +1,7 @@
+-- V19: Add indexes for the user activity timeline
+-- Description: The timeline reads each user's reviews, comments and likes newest first in
+-- (created_at, id) order after a keyset position. These indexes (with the primary key as implicit
+-- last column) serve that seek and ordering; bookings already have idx_bookings_user_created.
+CREATE INDEX idx_reviews_user_created ON reviews(user_id, created_at);
+CREATE INDEX idx_comments_user_created ON comments(user_id, created_at);
+CREATE INDEX idx_likes_user_created ON likes(user_id, created_at);
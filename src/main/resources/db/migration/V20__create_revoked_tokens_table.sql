@@ -0,0 +1,11 @@
+-- V20: Create revoked_tokens table
+-- Description: IDs (jti) of API tokens revoked before their expiry, e.g. on logout.
+-- Loaded into the in-memory denylist at startup; rows past expires_at are purged.
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id BIGINT NULL,
+    expires_at DATETIME NOT NULL,
+    revoked_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+-- Startup load and purge both select by expiry
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
@@ -0,0 +1,6 @@
+-- V23: Add index for the trending index rebuild
+-- Description: The rebuild reads the likes of the horizon in (created_at, id) order after a keyset
+-- position. idx_likes_review_created leads with review_id, so that read had to filesort every chunk;
+-- this index (with the primary key as implicit last column) serves the seek and the ordering.
+-- Comments use the existing idx_comments_created_at the same way.
+CREATE INDEX idx_likes_created_at ON likes(created_at);
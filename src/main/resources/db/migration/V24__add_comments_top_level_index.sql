@@ -0,0 +1,10 @@
+-- V24: Add index for keyset pagination of top-level comments
+-- Description: Top-level comments are the rows of a review with no parent. In
+-- idx_comments_review_active_created_id (V16) they are interleaved with the replies, so every page
+-- walked and read the table row of each reply in its range only to drop it. With parent_comment_id
+-- ahead of the keyset columns, the top-level comments of a review are one contiguous range
+-- (parent_comment_id IS NULL) in (created_at, id) order. Replies are paged on
+-- idx_comments_parent_active_created_id (V16). The V16 review index stays for loading a whole
+-- discussion in creation order.
+CREATE INDEX idx_comments_review_active_parent_created_id
+    ON comments(review_id, is_active, parent_comment_id, created_at, id);
@@ -84,15 +84,13 @@ public class AdminSecurityConfigIntegrationTest {
         userRepository.save(inactiveUser);
 
         // Create persistent_logins table for remember-me (H2 compatible)
-        try {
-            context.getBean(javax.sql.DataSource.class)
-                    .getConnection()
-                    .createStatement()
-                    .execute("CREATE TABLE IF NOT EXISTS persistent_logins (" +
-                            "username VARCHAR(64) NOT NULL, " +
-                            "series VARCHAR(64) PRIMARY KEY, " +
-                            "token VARCHAR(64) NOT NULL, " +
-                            "last_used TIMESTAMP NOT NULL)");
+        try (java.sql.Connection connection = context.getBean(javax.sql.DataSource.class).getConnection();
+                java.sql.Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS persistent_logins (" +
+                    "username VARCHAR(64) NOT NULL, " +
+                    "series VARCHAR(64) PRIMARY KEY, " +
+                    "token VARCHAR(64) NOT NULL, " +
+                    "last_used TIMESTAMP NOT NULL)");
         } catch (Exception e) {
             // Table might already exist, ignore
         }
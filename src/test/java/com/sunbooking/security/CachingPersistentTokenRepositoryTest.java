@@ -0,0 +1,119 @@
+package com.sunbooking.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for CachingPersistentTokenRepository against an in-memory
+ * database, with a second JDBC handle playing another node.
+ */
+@DisplayName("CachingPersistentTokenRepository Tests")
+class CachingPersistentTokenRepositoryTest {
+
+    private EmbeddedDatabase database;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private CachingPersistentTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("remember-me-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE persistent_logins (username VARCHAR(64) NOT NULL, "
+                + "series VARCHAR(64) PRIMARY KEY, token VARCHAR(64) NOT NULL, last_used TIMESTAMP NOT NULL)");
+
+        repository = new CachingPersistentTokenRepository();
+        ReflectionTestUtils.setField(repository, "dataSource", database);
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "tokenValidity", Duration.ofDays(14));
+        ReflectionTestUtils.setField(repository, "cacheTtl", Duration.ofHours(12));
+        ReflectionTestUtils.setField(repository, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(repository, "purgeChunkSize", 2);
+        repository.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should re-read a series rotated elsewhere when the presented token differs")
+    void testEvictIfDifferent() {
+        repository.createNewToken(new PersistentRememberMeToken("admin", "series-1", "token-1", new Date()));
+        rotateElsewhere("series-1", "token-2");
+
+        assertEquals("token-1", repository.getTokenForSeries("series-1").getTokenValue());
+
+        repository.evictIfDifferent("series-1", "token-1");
+        assertEquals("token-1", repository.getTokenForSeries("series-1").getTokenValue());
+
+        repository.evictIfDifferent("series-1", "token-2");
+        assertEquals("token-2", repository.getTokenForSeries("series-1").getTokenValue());
+    }
+
+    @Test
+    @DisplayName("Should reject rotating a series removed or rotated elsewhere")
+    void testUpdateTokenRejectsStaleSeries() {
+        repository.createNewToken(new PersistentRememberMeToken("admin", "series-1", "token-1", new Date()));
+        rotateElsewhere("series-1", "token-2");
+
+        assertThrows(RememberMeAuthenticationException.class,
+                () -> repository.updateToken("series-1", "token-3", new Date()));
+        assertEquals("token-2", repository.getTokenForSeries("series-1").getTokenValue());
+
+        repository.updateToken("series-1", "token-3", new Date());
+        assertEquals("token-3", repository.getTokenForSeries("series-1").getTokenValue());
+
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM persistent_logins");
+        assertThrows(RememberMeAuthenticationException.class,
+                () -> repository.updateToken("series-1", "token-4", new Date()));
+        assertNull(repository.getTokenForSeries("series-1"));
+    }
+
+    @Test
+    @DisplayName("Should purge expired series over several chunks and keep recent ones")
+    void testPurgeExpired() {
+        Instant expired = Instant.now().minus(Duration.ofDays(15));
+        for (int i = 0; i < 5; i++) {
+            repository.createNewToken(
+                    new PersistentRememberMeToken("admin", "old-" + i, "token", Date.from(expired.plusSeconds(i))));
+        }
+        repository.createNewToken(new PersistentRememberMeToken("admin", "recent", "token", new Date()));
+
+        repository.purgeExpired();
+
+        assertEquals(1, jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM persistent_logins", Integer.class));
+        assertNull(repository.getTokenForSeries("old-0"));
+        assertEquals("token", repository.getTokenForSeries("recent").getTokenValue());
+    }
+
+    private void rotateElsewhere(String series, String token) {
+        jdbcTemplate.getJdbcTemplate().update("UPDATE persistent_logins SET token = ?, last_used = ? WHERE series = ?",
+                token, Timestamp.from(Instant.now()), series);
+    }
+}
@@ -5,6 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -150,4 +154,43 @@ public class LoginAttemptServiceTest {
         assertTrue(loginAttemptService.isBlocked(ipAddress));
         assertEquals(0, loginAttemptService.getRemainingAttempts(ipAddress));
     }
+
+    @Test
+    @DisplayName("Should block username tried from many IPs")
+    void testIsBlocked_UsernameAcrossIPs() {
+        // Given
+        String username = "victim@example.com";
+
+        // When - Record 10 failed attempts, each from a different IP
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.recordFailedAttempt("10.0.0." + i, username);
+        }
+
+        // Then
+        assertTrue(loginAttemptService.isBlocked("10.0.1.1", " Victim@Example.com "));
+        assertFalse(loginAttemptService.isBlocked("10.0.1.1", "other@example.com"));
+        assertFalse(loginAttemptService.isBlocked("10.0.1.1"));
+    }
+
+    @Test
+    @DisplayName("Should unblock once old attempts slide out of the window")
+    void testSlidingWindow() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        LoginAttemptService service = new LoginAttemptService(5, 10, Duration.ofMinutes(15), 1000, nanos::get);
+        String ipAddress = "192.168.1.100";
+        service.recordFailedAttempt(ipAddress);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        for (int i = 0; i < 4; i++) {
+            service.recordFailedAttempt(ipAddress);
+        }
+        assertTrue(service.isBlocked(ipAddress));
+
+        // When - The first attempt leaves the window
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        // Then
+        assertFalse(service.isBlocked(ipAddress));
+        assertEquals(1, service.getRemainingAttempts(ipAddress));
+    }
 }
@@ -0,0 +1,83 @@
+package com.sunbooking.security.jwt;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Per-request cost of authenticating an API request with a JWT.
+ * perRequestBefore repeats what JwtAuthenticationFilter used to do: decode the
+ * hex secret and build a parser for each of its four parses. perRequest is the
+ * current path, one parse with the shared parser.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sunbooking.security.jwt.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"
+            + "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtService.init();
+
+        userDetails = User.withUsername("benchmark@example.com").password("unused").roles("USER").build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public boolean perRequestBefore() {
+        // validateToken(jwt), extractUsername(jwt), then validateToken(jwt, userDetails)
+        Jwts.parser().setSigningKey(JwtService.decodeHex(SECRET)).parseClaimsJws(token);
+        String username = Jwts.parser().setSigningKey(JwtService.decodeHex(SECRET))
+                .parseClaimsJws(token).getBody().getSubject();
+        String subject = Jwts.parser().setSigningKey(JwtService.decodeHex(SECRET))
+                .parseClaimsJws(token).getBody().getSubject();
+        boolean expired = Jwts.parser().setSigningKey(JwtService.decodeHex(SECRET))
+                .parseClaimsJws(token).getBody().getExpiration().before(new Date());
+        return username.equals(subject) && !expired;
+    }
+
+    @Benchmark
+    public boolean perRequest() {
+        Claims claims = jwtService.parseAndValidate(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sunbooking.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for the validation of the JWT secret.
+ */
+@DisplayName("JwtService Tests")
+class JwtServiceTest {
+
+    @Test
+    @DisplayName("Should decode a hex secret")
+    void testDecodeHex() {
+        assertArrayEquals(new byte[] { 0x0f, (byte) 0xa0, 0x7b }, JwtService.decodeHex("0fA07b"));
+    }
+
+    @Test
+    @DisplayName("Should reject a secret with an odd length or a non-hex character")
+    void testDecodeHexRejectsMalformedSecret() {
+        assertThrows(IllegalStateException.class, () -> JwtService.decodeHex("0fa07"));
+        assertThrows(IllegalStateException.class, () -> JwtService.decodeHex("0fa0-b"));
+    }
+
+    @Test
+    @DisplayName("Should fail startup with a key shorter than 64 bytes")
+    void testInitRejectsShortKey() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "ab".repeat(63));
+
+        assertThrows(IllegalStateException.class, jwtService::init);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sunbooking.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TokenBucket.
+ */
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity, then ask to wait")
+    void testBurst() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 1_000);
+
+        assertEquals(0, bucket.tryConsume(1_000));
+        assertEquals(0, bucket.tryConsume(1_000));
+        assertEquals(0, bucket.tryConsume(1_000));
+
+        assertEquals(1_000, bucket.tryConsume(1_000));
+        assertEquals(400, bucket.tryConsume(1_600));
+    }
+
+    @Test
+    @DisplayName("Should refill gradually at slow rates")
+    void testSlowRefill() {
+        // One token per minute, asked for every 10 seconds
+        TokenBucket bucket = new TokenBucket(1, Duration.ofMinutes(1), 0);
+        assertEquals(0, bucket.tryConsume(0));
+
+        for (long now = 10_000; now < 60_000; now += 10_000) {
+            assertTrue(bucket.tryConsume(now) > 0);
+        }
+        assertEquals(0, bucket.tryConsume(60_000));
+    }
+
+    @Test
+    @DisplayName("Should reject capacities that do not fit")
+    void testCapacityBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, Duration.ofMinutes(1), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, Duration.ofMinutes(1), 0));
+    }
+}
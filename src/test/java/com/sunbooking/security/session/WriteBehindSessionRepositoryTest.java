@@ -0,0 +1,109 @@
+package com.sunbooking.security.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+
+import com.sunbooking.security.session.WriteBehindSessionRepository.TrackedSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for WriteBehindSessionRepository touch batching.
+ */
+@DisplayName("WriteBehindSessionRepository Tests")
+class WriteBehindSessionRepositoryTest {
+
+    private final Instant loaded = Instant.parse("2026-10-18T08:00:00Z");
+
+    private FindByIndexNameSessionRepository<MapSession> delegate;
+
+    private JdbcOperations jdbcOperations;
+
+    private WriteBehindSessionRepository<MapSession> repository;
+
+    private MapSession stored;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegate = mock(FindByIndexNameSessionRepository.class);
+        jdbcOperations = mock(JdbcOperations.class);
+        repository = new WriteBehindSessionRepository<>(delegate, jdbcOperations, "SPRING_SESSION", 500,
+                new SimpleMeterRegistry());
+
+        stored = new MapSession("session-1");
+        stored.setMaxInactiveInterval(Duration.ofMinutes(30));
+        stored.setLastAccessedTime(loaded);
+        when(delegate.findById("session-1")).thenReturn(stored);
+    }
+
+    @Test
+    @DisplayName("Should queue touches and write them in one batch")
+    void testTouchIsBatched() {
+        TrackedSession session = repository.findById("session-1");
+        session.setLastAccessedTime(loaded.plusSeconds(5));
+        repository.save(session);
+
+        verify(delegate, never()).save(stored);
+
+        repository.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcOperations).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        Object[] row = batch.getValue().get(0);
+        assertEquals(loaded.plusSeconds(5).toEpochMilli(), row[0]);
+        assertEquals(loaded.plusSeconds(5).plus(Duration.ofMinutes(30)).toEpochMilli(), row[1]);
+        assertEquals("session-1", row[2]);
+
+        repository.flush();
+        verify(jdbcOperations).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should save changed sessions at once and drop their queued touch")
+    void testChangedSessionIsSaved() {
+        TrackedSession touched = repository.findById("session-1");
+        touched.setLastAccessedTime(loaded.plusSeconds(5));
+        repository.save(touched);
+
+        TrackedSession changed = repository.findById("session-1");
+        changed.setAttribute("locale", "vi");
+        repository.save(changed);
+
+        verify(delegate).save(stored);
+        repository.flush();
+        verify(jdbcOperations, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should save a touch at once when the stored one is older than half the timeout")
+    void testStaleTouchIsSaved() {
+        TrackedSession session = repository.findById("session-1");
+        session.setLastAccessedTime(loaded.plus(Duration.ofMinutes(16)));
+        repository.save(session);
+
+        verify(delegate).save(eq(stored));
+        repository.flush();
+        verify(jdbcOperations, never()).batchUpdate(anyString(), anyList());
+    }
+}
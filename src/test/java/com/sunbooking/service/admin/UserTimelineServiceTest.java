@@ -0,0 +1,254 @@
+package com.sunbooking.service.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Pageable;
+
+import com.sunbooking.dto.admin.user.UserTimelineDTO;
+import com.sunbooking.dto.admin.user.UserTimelineEntryDTO;
+import com.sunbooking.dto.admin.user.UserTimelineEntryDTO.Type;
+import com.sunbooking.exception.ValidationException;
+import com.sunbooking.repository.BookingRepository;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.repository.projection.TimelineRow;
+
+/**
+ * Unit tests for the k-way merge and the composite cursor of the user
+ * timeline, over in-memory sources.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserTimelineService Tests")
+class UserTimelineServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private static final Comparator<TimelineRow> NEWEST_FIRST = Comparator
+            .comparing(TimelineRow::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(TimelineRow::getId, Comparator.reverseOrder());
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private UserTimelineService userTimelineService;
+
+    private final List<List<TimelineRow>> rows = new ArrayList<>();
+
+    private final int[] rowsRead = new int[Type.values().length];
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < Type.values().length; i++) {
+            rows.add(new ArrayList<>());
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge all sources newest first across pages, ties included")
+    void testMergeAcrossPages() {
+        // Every source has rows at the same times, so each page boundary splits ties
+        for (Type type : Type.values()) {
+            for (int i = 0; i < 5; i++) {
+                add(type, type.ordinal() * 10L + i, T0.minusMinutes(i / 2));
+            }
+        }
+        stubSources();
+
+        List<String> merged = new ArrayList<>();
+        String cursor = null;
+        UserTimelineDTO page;
+        do {
+            page = userTimelineService.getTimeline(USER_ID, cursor, 3);
+            page.getEntries().forEach(entry -> merged.add(key(entry)));
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertNull(cursor);
+        assertEquals(expectedOrder(), merged);
+    }
+
+    @Test
+    @DisplayName("Should mark a source exhausted mid-page and not read it again")
+    void testSourceExhaustedMidPage() {
+        add(Type.BOOKING, 1L, T0);
+        for (int i = 0; i < 6; i++) {
+            add(Type.LIKE, 100L + i, T0.minusMinutes(i + 1));
+        }
+        stubSources();
+
+        UserTimelineDTO first = userTimelineService.getTimeline(USER_ID, null, 4);
+        assertEquals(List.of("BOOKING-1", "LIKE-100", "LIKE-101", "LIKE-102"),
+                first.getEntries().stream().map(this::key).collect(Collectors.toList()));
+        assertTrue(first.isHasMore());
+        assertTrue(first.getNextCursor().startsWith("~."));
+
+        int bookingsRead = rowsRead[Type.BOOKING.ordinal()];
+        UserTimelineDTO second = userTimelineService.getTimeline(USER_ID, first.getNextCursor(), 4);
+        assertEquals(List.of("LIKE-103", "LIKE-104", "LIKE-105"),
+                second.getEntries().stream().map(this::key).collect(Collectors.toList()));
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+        assertEquals(bookingsRead, rowsRead[Type.BOOKING.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("Should read sources lazily, not a full page from each")
+    void testReadsLazily() {
+        for (int i = 0; i < 20; i++) {
+            add(Type.LIKE, 100L + i, T0.minusMinutes(i));
+            add(Type.COMMENT, 200L + i, T0.minusDays(1).minusMinutes(i));
+            add(Type.REVIEW, 300L + i, T0.minusDays(2).minusMinutes(i));
+            add(Type.BOOKING, 400L + i, T0.minusDays(3).minusMinutes(i));
+        }
+        stubSources();
+
+        UserTimelineDTO page = userTimelineService.getTimeline(USER_ID, null, 8);
+
+        assertEquals(8, page.getEntries().size());
+        assertTrue(page.getEntries().stream().allMatch(entry -> entry.getType() == Type.LIKE));
+        int read = 0;
+        for (int count : rowsRead) {
+            read += count;
+        }
+        assertTrue(read <= 8 + 3 * 3, "Read " + read + " rows for a page of 8");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testMalformedCursor() {
+        when(messageSource.getMessage(eq("error.timeline.cursor.invalid"), any(), any(Locale.class)))
+                .thenReturn("Invalid timeline cursor");
+
+        assertThrows(ValidationException.class, () -> userTimelineService.getTimeline(USER_ID, "~.~", 3));
+        assertThrows(ValidationException.class, () -> userTimelineService.getTimeline(USER_ID, "~.~.~.x!", 3));
+    }
+
+    private void add(Type type, Long id, LocalDateTime createdAt) {
+        rows.get(type.ordinal()).add(new Row(id, createdAt));
+    }
+
+    private void stubSources() {
+        when(bookingRepository.findTimelineRowsByUserId(anyLong(), any(), anyLong(), any()))
+                .thenAnswer(answer(Type.BOOKING));
+        when(reviewRepository.findTimelineRowsByUserId(anyLong(), any(), anyLong(), any()))
+                .thenAnswer(answer(Type.REVIEW));
+        when(commentRepository.findTimelineRowsByUserId(anyLong(), any(), anyLong(), any()))
+                .thenAnswer(answer(Type.COMMENT));
+        when(likeRepository.findTimelineRowsByUserId(anyLong(), any(), anyLong(), any()))
+                .thenAnswer(answer(Type.LIKE));
+    }
+
+    /**
+     * Keyset query over the rows of one source, like the repository queries.
+     */
+    private Answer<List<TimelineRow>> answer(Type type) {
+        return invocation -> {
+            LocalDateTime beforeCreatedAt = invocation.getArgument(1);
+            Long beforeId = invocation.getArgument(2);
+            Pageable pageable = invocation.getArgument(3);
+            List<TimelineRow> page = rows.get(type.ordinal()).stream()
+                    .filter(row -> row.getCreatedAt().isBefore(beforeCreatedAt)
+                            || (row.getCreatedAt().equals(beforeCreatedAt) && row.getId() < beforeId))
+                    .sorted(NEWEST_FIRST)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+            rowsRead[type.ordinal()] += page.size();
+            return page;
+        };
+    }
+
+    /**
+     * All rows newest first, ties broken by type and then newest ID.
+     */
+    private List<String> expectedOrder() {
+        List<String> keys = new ArrayList<>();
+        List<Object[]> all = new ArrayList<>();
+        for (Type type : Type.values()) {
+            for (TimelineRow row : rows.get(type.ordinal())) {
+                all.add(new Object[] { type, row });
+            }
+        }
+        all.sort(Comparator.comparing((Object[] e) -> ((TimelineRow) e[1]).getCreatedAt(), Comparator.reverseOrder())
+                .thenComparing(e -> (Type) e[0])
+                .thenComparing(e -> ((TimelineRow) e[1]).getId(), Comparator.reverseOrder()));
+        for (Object[] e : all) {
+            keys.add(e[0] + "-" + ((TimelineRow) e[1]).getId());
+        }
+        return keys;
+    }
+
+    private String key(UserTimelineEntryDTO entry) {
+        return entry.getType() + "-" + entry.getId();
+    }
+
+    private static final class Row implements TimelineRow {
+
+        private final Long id;
+        private final LocalDateTime createdAt;
+
+        private Row(Long id, LocalDateTime createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public Long getRefId() {
+            return 1L;
+        }
+
+        @Override
+        public String getSummary() {
+            return "row " + id;
+        }
+    }
+}
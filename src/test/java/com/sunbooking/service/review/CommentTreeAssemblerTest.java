@@ -0,0 +1,149 @@
+package com.sunbooking.service.review;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sunbooking.repository.projection.CommentThreadRow;
+
+/**
+ * Unit tests for assembling comment rows into threads.
+ */
+@DisplayName("CommentTreeAssembler Tests")
+public class CommentTreeAssemblerTest {
+
+    @Test
+    @DisplayName("Should link replies to their parents regardless of row order")
+    void testAssemble_LinksReplies() {
+        // Given: a reply listed before its parent
+        List<CommentThreadRow> rows = Arrays.asList(
+                row(3L, 2L),
+                row(1L, null),
+                row(2L, 1L),
+                row(4L, null));
+
+        // When
+        List<CommentThreadNode> roots = CommentTreeAssembler.assemble(rows, null, 10, 10);
+
+        // Then
+        assertEquals(2, roots.size());
+        assertEquals(1L, roots.get(0).getComment().getId());
+        assertEquals(4L, roots.get(1).getComment().getId());
+        CommentThreadNode reply = roots.get(0).getReplies().get(0);
+        assertEquals(2L, reply.getComment().getId());
+        assertEquals(3L, reply.getReplies().get(0).getComment().getId());
+    }
+
+    @Test
+    @DisplayName("Should drop replies whose parent was not loaded")
+    void testAssemble_DropsOrphans() {
+        // Given: comment 2 is missing (e.g. soft-deleted)
+        List<CommentThreadRow> rows = Arrays.asList(
+                row(1L, null),
+                row(3L, 2L),
+                row(4L, 3L));
+
+        // When
+        List<CommentThreadNode> roots = CommentTreeAssembler.assemble(rows, null, 10, 10);
+
+        // Then
+        assertEquals(1, roots.size());
+        assertTrue(roots.get(0).getReplies().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should collapse replies beyond the maximum depth and breadth")
+    void testAssemble_Truncates() {
+        // Given
+        List<CommentThreadRow> rows = Arrays.asList(
+                row(1L, null),
+                row(2L, 1L),
+                row(3L, 1L),
+                row(4L, 1L),
+                row(5L, 2L),
+                row(6L, 5L));
+
+        // When
+        List<CommentThreadNode> roots = CommentTreeAssembler.assemble(rows, null, 2, 2);
+
+        // Then
+        CommentThreadNode root = roots.get(0);
+        assertEquals(2, root.getReplies().size());
+        assertEquals(1, root.getHiddenReplyCount());
+        CommentThreadNode deepest = root.getReplies().get(0).getReplies().get(0);
+        assertEquals(5L, deepest.getComment().getId());
+        assertTrue(deepest.getReplies().isEmpty());
+        assertEquals(1, deepest.getHiddenReplyCount());
+    }
+
+    @Test
+    @DisplayName("Should start a sub-thread at the given comment")
+    void testAssemble_SubThread() {
+        // Given
+        List<CommentThreadRow> rows = Arrays.asList(
+                row(5L, 2L),
+                row(6L, 5L));
+
+        // When
+        List<CommentThreadNode> roots = CommentTreeAssembler.assemble(rows, 5L, 10, 10);
+
+        // Then
+        assertEquals(1, roots.size());
+        assertEquals(6L, roots.get(0).getReplies().get(0).getComment().getId());
+    }
+
+    private static CommentThreadRow row(Long id, Long parentCommentId) {
+        return new CommentThreadRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getParentCommentId() {
+                return parentCommentId;
+            }
+
+            @Override
+            public Long getReviewId() {
+                return 1L;
+            }
+
+            @Override
+            public String getContent() {
+                return "Comment " + id;
+            }
+
+            @Override
+            public String getUserName() {
+                return "User";
+            }
+
+            @Override
+            public String getUserEmail() {
+                return "user@example.com";
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return true;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id);
+            }
+
+            @Override
+            public LocalDateTime getDeletedAt() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.sunbooking.service.review;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sunbooking.config.TrendingProperties;
+import com.sunbooking.entity.CategoryType;
+import com.sunbooking.repository.CommentRepository;
+import com.sunbooking.repository.LikeRepository;
+import com.sunbooking.repository.ReviewRepository;
+import com.sunbooking.service.review.ReviewActivityEvent.Type;
+
+/**
+ * Unit tests for the decayed scores of the trending reviews index.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingReviewIndex Tests")
+class TrendingReviewIndexTest {
+
+    private static final Long REVIEW_ID = 1L;
+
+    @Spy
+    private TrendingProperties properties = new TrendingProperties();
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @InjectMocks
+    private TrendingReviewIndex trendingReviewIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(reviewRepository.findActiveCategoryTypesByIds(anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[] { REVIEW_ID, CategoryType.TOUR }));
+    }
+
+    @Test
+    @DisplayName("Should subtract the weight an old like added when it is removed")
+    void testUnlikeOfOldLike() {
+        // Given: ten likes four half-lives ago
+        LocalDateTime likedAt = LocalDateTime.now().minusDays(4);
+        for (long id = 1; id <= 10; id++) {
+            trendingReviewIndex.onReviewActivity(new ReviewActivityEvent(Type.LIKED, REVIEW_ID, id, id, likedAt));
+        }
+
+        // When
+        trendingReviewIndex.onReviewActivity(new ReviewActivityEvent(Type.UNLIKED, REVIEW_ID, 1L, 1L, likedAt));
+
+        // Then
+        Map<Long, Double> top = trendingReviewIndex.getTopReviews(CategoryType.TOUR, 10);
+        assertEquals(9 / 16.0, top.get(REVIEW_ID), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should keep likes committed during a rebuild, counting scanned ones once")
+    void testRebuildKeepsConcurrentActivity() {
+        // Given: like 5 is within the scan, like 6 is committed after it started
+        LocalDateTime scannedAt = LocalDateTime.now().minusDays(1);
+        when(likeRepository.findMaxId()).thenReturn(5L);
+        when(commentRepository.findMaxId()).thenReturn(0L);
+        when(likeRepository.findCreatedSince(any(), anyLong(), eq(5L), any()))
+                .thenAnswer(invocation -> {
+                    if ((Long) invocation.getArgument(1) > 0) {
+                        return Collections.emptyList();
+                    }
+                    trendingReviewIndex.onReviewActivity(
+                            new ReviewActivityEvent(Type.LIKED, REVIEW_ID, 5L, 5L, scannedAt));
+                    trendingReviewIndex.onReviewActivity(
+                            new ReviewActivityEvent(Type.LIKED, REVIEW_ID, 6L, 6L, LocalDateTime.now()));
+                    return List.<Object[]>of(new Object[] { REVIEW_ID, 5L, scannedAt });
+                });
+        when(commentRepository.findActiveCreatedSince(any(), anyLong(), eq(0L), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        trendingReviewIndex.rebuild();
+
+        // Then: half of like 5 is left after one half-life, all of like 6
+        Map<Long, Double> top = trendingReviewIndex.getTopReviews(CategoryType.TOUR, 10);
+        assertEquals(1.5, top.get(REVIEW_ID), 0.001);
+    }
+}
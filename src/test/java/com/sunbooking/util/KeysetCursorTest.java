@@ -0,0 +1,56 @@
+package com.sunbooking.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sunbooking.util.KeysetCursor.Direction;
+
+/**
+ * Unit tests for keyset pagination continuation tokens.
+ */
+@DisplayName("KeysetCursor Tests")
+public class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same position")
+    void testEncodeDecode_RoundTrip() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53), 42L, Direction.AFTER);
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), "Token should be URL-safe");
+        assertEquals(cursor, KeysetCursor.decode(token, Direction.AFTER));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void testDecode_Malformed() {
+        String token = new KeysetCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L, Direction.BEFORE).encode();
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a token!", Direction.BEFORE));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode(token.substring(3), Direction.BEFORE));
+    }
+
+    @Test
+    @DisplayName("Should reject a token of the other direction")
+    void testDecode_DirectionMismatch() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        String after = new KeysetCursor(createdAt, 1L, Direction.AFTER).encode();
+        String before = new KeysetCursor(createdAt, 1L, Direction.BEFORE).encode();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(after, Direction.BEFORE));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(before, Direction.AFTER));
+        assertEquals(Direction.BEFORE, KeysetCursor.decode(before, Direction.BEFORE).getDirection());
+    }
+}
@@ -0,0 +1,29 @@
+package com.sunbooking.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for search text normalization.
+ */
+@DisplayName("SearchTextNormalizer Tests")
+public class SearchTextNormalizerTest {
+
+    @Test
+    @DisplayName("Should lower-case and fold Vietnamese accents")
+    void testNormalize_FoldsAccents() {
+        assertEquals("nguyen van duc", SearchTextNormalizer.normalize("Nguyễn Văn Đức"));
+        assertEquals("tran thi hoa", SearchTextNormalizer.normalize("  TRẦN   Thị\tHoà "));
+        assertEquals("john.doe@example.com", SearchTextNormalizer.normalize("John.Doe@Example.com"));
+        assertNull(SearchTextNormalizer.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards")
+    void testEscapeLike() {
+        assertEquals("50!%!_off!!", SearchTextNormalizer.escapeLike("50%_off!"));
+    }
+}